@@ -1,18 +1,34 @@
 package com.yk.chatbot.config;
 
 import com.yk.chatbot.lasa.Analyze;
+import com.yk.chatbot.lasa.impl.CachingAnalyzer;
 import com.yk.chatbot.lasa.impl.HybridAnalyzer;
 import com.yk.chatbot.lasa.impl.KoalaNLPAnalyzer;
+import com.yk.chatbot.lasa.impl.NgramAnalyzer;
 import com.yk.chatbot.lasa.impl.RasaAnalyzer;
+import com.yk.chatbot.lasa.impl.UtteranceTableAnalyzer;
+import com.yk.chatbot.service.RasaClientService;
+import com.yk.chatbot.support.LogStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
 
 /**
  * 챗봇 분석기 설정 클래스
  * 다양한 분석기 중 원하는 구현체를 선택할 수 있습니다.
+ * 선택된 분석기 앞에는 학습 예문 테이블과 분석 결과 캐시를 둘 수 있습니다.
  */
 @Slf4j
 @Configuration
@@ -21,16 +37,40 @@ public class AnalyzerConfig {
     /**
      * 사용할 분석기 유형
      * application.properties에서 다음과 같이 설정:
-     * chatbot.analyzer.type=hybrid (또는 rasa, koala)
+     * chatbot.analyzer.type=hybrid (또는 rasa, koala, ngram)
      */
     @Value("${chatbot.analyzer.type:hybrid}")
     private String analyzerType;
     
+    @Value("${chatbot.analyzer.cache.enabled:true}")
+    private boolean cacheEnabled;
+    
+    @Value("${chatbot.analyzer.cache.max-size:10000}")
+    private long cacheMaxSize;
+    
+    @Value("${chatbot.analyzer.cache.ttl-minutes:60}")
+    private long cacheTtlMinutes;
+    
+    @Value("${chatbot.analyzer.utterance-table.enabled:true}")
+    private boolean utteranceTableEnabled;
+    
+    // 빌드 시 rasaServer/data/nlu.yml을 복사한 리소스
+    @Value("${chatbot.analyzer.utterance-table.resource:classpath:nlu/nlu.yml}")
+    private Resource utteranceTableResource;
+    
+    // Rasa 모델 교체 감지용 (Rasa를 사용하는 분석기를 캐시할 때만 설정)
+    private RasaClientService rasaClientService;
+    private CachingAnalyzer cachingAnalyzer;
+    private String dictionaryVersion;
+    
     /**
      * 적절한 분석기 Bean 생성
+     * 분석 결과 캐시를 사용하면 선택된 분석기를 {@link CachingAnalyzer}로 감싸고,
+     * 그 앞에 학습 예문 완전 일치 테이블({@link UtteranceTableAnalyzer})을 둡니다.
      * @param rasaAnalyzer Rasa 분석기
      * @param koalaNLPAnalyzer KoalaNLP 분석기
      * @param hybridAnalyzer 하이브리드 분석기
+     * @param ngramAnalyzer 문자 n-gram 분석기 (선택했을 때만 생성)
      * @return 설정에 따라 선택된 분석기
      */
     @Bean
@@ -38,21 +78,97 @@ public class AnalyzerConfig {
     public Analyze primaryAnalyzer(
             RasaAnalyzer rasaAnalyzer, 
             KoalaNLPAnalyzer koalaNLPAnalyzer,
-            HybridAnalyzer hybridAnalyzer) {
+            HybridAnalyzer hybridAnalyzer,
+            @Lazy NgramAnalyzer ngramAnalyzer,
+            RasaClientService rasaClientService,
+            @Qualifier("analysisStore") LogStore analysisStore,
+            MeterRegistry meterRegistry) {
         
         log.info("분석기 설정: {}", analyzerType);
         
-        switch (analyzerType.toLowerCase()) {
+        String type = analyzerType.toLowerCase();
+        Analyze analyzer;
+        switch (type) {
             case "rasa":
                 log.info("Rasa 분석기를 사용합니다.");
-                return rasaAnalyzer;
+                analyzer = rasaAnalyzer;
+                break;
             case "koala":
                 log.info("KoalaNLP 분석기를 사용합니다.");
-                return koalaNLPAnalyzer;
+                analyzer = koalaNLPAnalyzer;
+                break;
+            case "ngram":
+                log.info("n-gram 분석기를 사용합니다.");
+                analyzer = ngramAnalyzer;
+                break;
             case "hybrid":
             default:
                 log.info("하이브리드 분석기를 사용합니다.");
-                return hybridAnalyzer;
+                type = "hybrid";
+                analyzer = hybridAnalyzer;
+                break;
+        }
+        
+        // n-gram 분석은 캐시 조회보다 크게 느리지 않으므로 캐시하지 않음
+        if (cacheEnabled && !"ngram".equals(type)) {
+            dictionaryVersion = koalaNLPAnalyzer.dictionaryVersion();
+            boolean usesRasa = !"koala".equals(type);
+            if (usesRasa) {
+                this.rasaClientService = rasaClientService;
+            }
+            // Rasa 서킷이 열려 KOMORAN만으로 분석한 결과는 보관하지 않음
+            BooleanSupplier cacheable = usesRasa ? rasaAnalyzer::isAvailable : () -> true;
+            // Rasa 모델 식별자는 빈 생성을 막지 않도록 예약 작업(checkModelVersion)에서 조회하며, 그때까지는 캐시하지 않음
+            String initialVersion = usesRasa ? null : dictionaryVersion;
+            cachingAnalyzer = new CachingAnalyzer(type, analyzer, analysisStore, meterRegistry,
+                    cacheMaxSize, Duration.ofMinutes(cacheTtlMinutes), initialVersion, cacheable);
+            analyzer = cachingAnalyzer;
+        }
+        
+        return withUtteranceTable(analyzer, meterRegistry);
+    }
+    
+    /**
+     * 학습 예문 완전 일치 테이블을 가장 바깥에 둡니다. 예문 파일이 없으면 분석기를 그대로 사용합니다.
+     */
+    private Analyze withUtteranceTable(Analyze analyzer, MeterRegistry meterRegistry) {
+        if (!utteranceTableEnabled) {
+            return analyzer;
+        }
+        if (!utteranceTableResource.exists()) {
+            log.warn("학습 예문 파일이 없어 예문 테이블을 사용하지 않습니다: {}", utteranceTableResource);
+            return analyzer;
+        }
+        try (InputStream nluYaml = utteranceTableResource.getInputStream()) {
+            return new UtteranceTableAnalyzer(analyzer, nluYaml, meterRegistry);
+        } catch (IOException | RuntimeException e) {
+            log.warn("학습 예문 테이블 생성 실패, 예문 테이블 없이 분석합니다", e);
+            return analyzer;
+        }
+    }
+    
+    /**
+     * Rasa 서버의 모델이 교체되었는지 주기적으로 확인하고, 바뀌었으면 분석 결과 캐시를 비웁니다.
+     * 시작 직후 첫 확인에서 캐시 버전이 정해집니다.
+     */
+    @Scheduled(fixedDelayString = "${chatbot.analyzer.cache.model-check-interval-ms:30000}",
+            initialDelayString = "${chatbot.analyzer.cache.model-check-initial-delay-ms:0}")
+    public void checkModelVersion() {
+        if (cachingAnalyzer != null && rasaClientService != null) {
+            cachingAnalyzer.updateVersion(currentVersion());
+        }
+    }
+    
+    /**
+     * 분석 결과 캐시 버전 (사전 버전 + Rasa 모델 식별자)
+     * Rasa 서버에 연결할 수 없으면 모델 식별자를 알 수 없으므로 기존 버전(처음에는 null)을 유지합니다.
+     */
+    private String currentVersion() {
+        if (rasaClientService == null) {
+            return dictionaryVersion;
         }
+        return rasaClientService.fetchModelVersion()
+                .map(model -> dictionaryVersion + "/" + model)
+                .orElse(cachingAnalyzer.version());
     }
 }
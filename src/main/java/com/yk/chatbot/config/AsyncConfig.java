@@ -0,0 +1,102 @@
+package com.yk.chatbot.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 처리용 스레드 풀 설정 클래스
+ * LASA 파이프라인 단계를 Tomcat 요청 스레드가 아닌 별도 풀에서 실행합니다.
+ */
+@Slf4j
+@Configuration
+public class AsyncConfig implements AsyncConfigurer {
+
+    @Value("${chatbot.async.core-pool-size:8}")
+    private int corePoolSize;
+
+    @Value("${chatbot.async.max-pool-size:32}")
+    private int maxPoolSize;
+
+    @Value("${chatbot.async.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${chatbot.analyzer.pool-size:16}")
+    private int analyzerPoolSize;
+
+    @Value("${chatbot.analyzer.queue-capacity:200}")
+    private int analyzerQueueCapacity;
+
+    @Value("${weather.executor.pool-size:16}")
+    private int weatherPoolSize;
+
+    @Value("${weather.executor.queue-capacity:200}")
+    private int weatherQueueCapacity;
+
+    /**
+     * LASA 파이프라인 실행용 스레드 풀
+     * 큐가 가득 차면 호출 스레드에서 실행하여 요청을 버리지 않습니다.
+     */
+    @Bean(name = "lasaExecutor")
+    public ThreadPoolTaskExecutor lasaExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("lasa-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        log.info("LASA 실행 풀 생성: core={}, max={}, queue={}", corePoolSize, maxPoolSize, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * 분석기 병렬 실행용 스레드 풀
+     * HybridAnalyzer가 Rasa와 KOMORAN 분석을 동시에 실행할 때 사용합니다.
+     */
+    @Bean(name = "analyzerExecutor")
+    public ThreadPoolTaskExecutor analyzerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analyzerPoolSize);
+        executor.setMaxPoolSize(analyzerPoolSize);
+        executor.setQueueCapacity(analyzerQueueCapacity);
+        executor.setThreadNamePrefix("analyzer-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        log.info("분석기 실행 풀 생성: size={}, queue={}", analyzerPoolSize, analyzerQueueCapacity);
+        return executor;
+    }
+
+    /**
+     * 날씨 조회용 스레드 풀
+     * 여러 지역 날씨의 병렬 조회와 만료된 캐시 항목의 백그라운드 갱신에 사용합니다.
+     * 풀이 가득 차면 호출 스레드에서 실행하지 않고 거절하므로, 호출하는 쪽에서 조회 실패로 처리합니다.
+     */
+    @Bean(name = "weatherExecutor")
+    public ThreadPoolTaskExecutor weatherExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(weatherPoolSize);
+        executor.setMaxPoolSize(weatherPoolSize);
+        executor.setQueueCapacity(weatherQueueCapacity);
+        executor.setThreadNamePrefix("weather-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        log.info("날씨 조회 풀 생성: size={}, queue={}", weatherPoolSize, weatherQueueCapacity);
+        return executor;
+    }
+
+    /**
+     * {@code @Async} 메소드도 동일한 풀을 사용합니다.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return lasaExecutor();
+    }
+}
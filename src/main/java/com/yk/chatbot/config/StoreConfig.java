@@ -0,0 +1,121 @@
+package com.yk.chatbot.config;
+
+import com.yk.chatbot.support.LogStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 디스크 저장소 설정 클래스
+ * 재시작 후에도 유지할 캐시(Geocoding 좌표, OpenAI 폴백 응답, 분석 결과 등)를 {@link LogStore}로 제공하고,
+ * 죽은 레코드가 많이 쌓인 저장소를 주기적으로 압축합니다.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class StoreConfig {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${storage.dir:data/store}")
+    private String storageDir;
+
+    @Value("${storage.compaction.garbage-ratio:0.5}")
+    private double garbageRatio;
+
+    @Value("${storage.compaction.min-bytes:1048576}")
+    private long compactionMinBytes;
+
+    private final Map<String, LogStore> stores = new ConcurrentHashMap<>();
+
+    /**
+     * Geocoding 결과 저장소 (지명 -> 좌표)
+     */
+    @Bean(name = "geocodeStore", destroyMethod = "close")
+    public LogStore geocodeStore() {
+        return open("geocode");
+    }
+
+    /**
+     * OpenAI 폴백 응답 저장소 (정규화한 질문 -> 응답)
+     */
+    @Bean(name = "fallbackAnswerStore", destroyMethod = "close")
+    public LogStore fallbackAnswerStore() {
+        return open("fallback-answers");
+    }
+
+    /**
+     * 분석 결과 저장소 (정규화한 메시지 -> 분석 결과)
+     */
+    @Bean(name = "analysisStore", destroyMethod = "close")
+    public LogStore analysisStore() {
+        return open("analysis");
+    }
+
+    /**
+     * 죽은 레코드 비율이 기준을 넘은 저장소를 압축합니다.
+     */
+    @Scheduled(fixedDelayString = "${storage.compaction.interval-ms:60000}",
+            initialDelayString = "${storage.compaction.interval-ms:60000}")
+    public void compact() {
+        for (Map.Entry<String, LogStore> entry : new ArrayList<>(stores.entrySet())) {
+            try {
+                long before = entry.getValue().logBytes();
+                if (entry.getValue().compactIfNeeded(garbageRatio, compactionMinBytes)) {
+                    log.info("저장소 '{}' 압축 완료: {} -> {} bytes", entry.getKey(), before, entry.getValue().logBytes());
+                }
+            } catch (IOException e) {
+                log.warn("저장소 '{}' 압축 실패", entry.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * 저장소를 엽니다. 파일이 손상되어 열 수 없으면 옆으로 옮겨 두고 빈 저장소로 시작합니다 (캐시이므로 데이터보다 가용성 우선).
+     */
+    private LogStore open(String name) {
+        Path dir = Path.of(storageDir);
+        LogStore store;
+        try {
+            store = LogStore.open(dir, name);
+        } catch (IOException e) {
+            log.warn("저장소 '{}'를 열 수 없어 새로 시작합니다", name, e);
+            try {
+                for (String suffix : List.of(".log", ".idx")) {
+                    Path file = dir.resolve(name + suffix);
+                    if (Files.exists(file)) {
+                        Files.move(file, dir.resolve(name + suffix + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+                store = LogStore.open(dir, name);
+            } catch (IOException retry) {
+                throw new IllegalStateException("저장소 '" + name + "' 초기화 실패", retry);
+            }
+        }
+
+        stores.put(name, store);
+        Gauge.builder("storage.entries", store, LogStore::size)
+                .tag("store", name)
+                .register(meterRegistry);
+        Gauge.builder("storage.log.bytes", store, LogStore::logBytes)
+                .tag("store", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("저장소 '{}' 열림: {} ({}개 항목)", name, dir.toAbsolutePath(), store.size());
+        return store;
+    }
+}
@@ -2,18 +2,27 @@ package com.yk.chatbot.controller;
 
 import com.yk.chatbot.dto.ChatRequest;
 import com.yk.chatbot.dto.ChatResponse;
+import com.yk.chatbot.lasa.AnalysisResult;
 import com.yk.chatbot.service.LasaChatbotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 챗봇 API 컨트롤러
@@ -25,24 +34,111 @@ import jakarta.validation.Valid;
 @Tag(name = "챗봇 API", description = "챗봇 메시지 처리 API")
 public class ChatbotController {
 
+    // 처리 제한 시간이 지나 시간 초과 응답을 보낼 수 있도록 SSE 연결에 두는 여유 (밀리초)
+    private static final long STREAM_GRACE_MS = 2000;
+
     private final LasaChatbotService chatbotService;
+    
+    // 스트리밍 응답 처리 제한 시간 (밀리초)
+    @Value("${service.timeout.read:15000}")
+    private long streamTimeout;
 
     /**
      * 챗봇 메시지 처리 API
+     * 파이프라인은 별도 스레드 풀에서 비동기로 실행되며, 응답이 준비되면 지연 응답으로 반환됩니다.
      * 
      * @param request 사용자 요청
-     * @return 챗봇 응답
+     * @return 챗봇 응답을 담은 CompletableFuture
      */
     @PostMapping
     @Operation(
         summary = "메시지 처리",
         description = "사용자 메시지를 처리하고 챗봇 응답을 반환합니다."
     )
-    public ResponseEntity<ChatResponse> processMessage(@Valid @RequestBody ChatRequest request) {
+    public CompletableFuture<ResponseEntity<ChatResponse>> processMessage(@Valid @RequestBody ChatRequest request) {
         log.info("메시지 요청 수신: {}", request);
         
+        return chatbotService.processAsync(request)
+                .thenApply(ResponseEntity::ok);
+    }
+    
+    /**
+     * 챗봇 메시지 동기 처리 API (비교용)
+     * 
+     * @param request 사용자 요청
+     * @return 챗봇 응답
+     */
+    @PostMapping("/sync")
+    @Operation(
+        summary = "메시지 동기 처리",
+        description = "요청 스레드에서 LASA 파이프라인을 동기로 실행합니다. 비동기 처리와의 비교용입니다."
+    )
+    public ResponseEntity<ChatResponse> processMessageSync(@Valid @RequestBody ChatRequest request) {
+        log.info("동기 메시지 요청 수신: {}", request);
+        
         ChatResponse response = chatbotService.process(request);
         
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * 챗봇 메시지 스트리밍 API (Server-Sent Events)
+     * OpenAI로 답하는 의도는 analysis 이벤트(의도, 엔티티)를 먼저 보내고 생성되는 텍스트를 token 이벤트로 흘려보낸 뒤,
+     * 최종 응답을 message 이벤트로 보냅니다. 그 밖의 의도는 message 이벤트 하나만 보냅니다.
+     * 
+     * @param request 사용자 요청
+     * @return SSE 스트림
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "메시지 스트리밍 처리",
+        description = "사용자 메시지를 처리하고 챗봇 응답을 Server-Sent Events로 스트리밍합니다."
+    )
+    public SseEmitter streamMessage(@Valid @RequestBody ChatRequest request) {
+        log.info("스트리밍 메시지 요청 수신: {}", request);
+        
+        SseEmitter emitter = new SseEmitter(streamTimeout + STREAM_GRACE_MS);
+        CompletableFuture<ChatResponse> processing = chatbotService.processStream(request,
+                analysis -> send(emitter, "analysis", toAnalysisEvent(analysis)),
+                token -> send(emitter, "token", Map.of("text", token)));
+        
+        // 클라이언트 연결 종료나 시간 초과로 스트림이 끝나면 처리를 취소하여 OpenAI 호출과 호출 슬롯을 반환
+        emitter.onTimeout(() -> processing.cancel(true));
+        emitter.onError(e -> processing.cancel(true));
+        emitter.onCompletion(() -> processing.cancel(true));
+        
+        processing.whenComplete((response, e) -> {
+            if (e != null) {
+                // 스트림이 먼저 종료되어 취소된 경우
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("message").data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                // 클라이언트가 연결을 끊었거나 스트림이 이미 종료됨
+                log.debug("스트리밍 응답 전송 실패: {}", ex.toString());
+            }
+        });
+        return emitter;
+    }
+    
+    /**
+     * SSE 이벤트를 보냅니다. 전송에 실패하면(클라이언트 연결 종료 등) 예외를 던져 생성을 중단시킵니다.
+     */
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private Map<String, Object> toAnalysisEvent(AnalysisResult analysis) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("intent", analysis.getIntent());
+        event.put("confidence", analysis.getConfidence());
+        event.put("entities", analysis.getEntities());
+        return event;
+    }
 }
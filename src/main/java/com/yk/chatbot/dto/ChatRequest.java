@@ -28,4 +28,15 @@ public class ChatRequest {
      * 세션 식별자 (선택적)
      */
     private String sessionId;
+    
+    /**
+     * 클라이언트 위치의 위도 (선택적, 모바일 등)
+     * 메시지에 지명이 없는 날씨/기온 요청은 이 좌표에서 가장 가까운 지역으로 처리합니다.
+     */
+    private Double latitude;
+    
+    /**
+     * 클라이언트 위치의 경도 (선택적)
+     */
+    private Double longitude;
 }
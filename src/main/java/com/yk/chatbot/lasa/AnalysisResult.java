@@ -5,7 +5,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,6 +32,13 @@ public class AnalysisResult {
     @Builder.Default
     private Map<String, String> entities = new HashMap<>();
     
+    /**
+     * 여러 값을 가질 수 있는 엔티티 (key: 엔티티명, value: 등장 순서대로의 값 목록)
+     * 예: "서울이랑 부산 날씨" -> location=[서울, 부산]. entities에는 첫 번째 값이 들어갑니다.
+     */
+    @Builder.Default
+    private Map<String, List<String>> entityValues = new HashMap<>();
+    
     /**
      * 의도 분석 신뢰도 점수 (0.0 ~ 1.0)
      */
@@ -39,6 +49,12 @@ public class AnalysisResult {
      */
     private String originalMessage;
     
+    /**
+     * 일부 분석기 없이 만든 결과인지 여부 (예: Rasa 없이 KOMORAN 단독 분석)
+     * 정상 결과보다 정확도가 낮을 수 있으므로 캐시에 보관하지 않습니다.
+     */
+    private boolean degraded;
+    
     /**
      * 엔티티 추가 헬퍼 메소드
      */
@@ -50,6 +66,49 @@ public class AnalysisResult {
         return this;
     }
     
+    /**
+     * 여러 값을 가질 수 있는 엔티티에 값을 추가합니다.
+     * 첫 번째 값은 단일 값 엔티티(entities)에도 저장되며, 같은 값은 한 번만 추가됩니다.
+     */
+    public AnalysisResult addEntityValue(String name, String value) {
+        if (entityValues == null) {
+            entityValues = new HashMap<>();
+        }
+        List<String> values = entityValues.computeIfAbsent(name, k -> new ArrayList<>());
+        if (!values.contains(value)) {
+            values.add(value);
+        }
+        if (!hasEntity(name)) {
+            addEntity(name, value);
+        }
+        return this;
+    }
+    
+    /**
+     * 엔티티의 값을 하나의 값으로 교체합니다 (여러 값 엔티티 포함).
+     */
+    public AnalysisResult replaceEntity(String name, String value) {
+        if (entityValues != null) {
+            entityValues.remove(name);
+        }
+        addEntity(name, value);
+        return addEntityValue(name, value);
+    }
+    
+    /**
+     * 엔티티의 모든 값을 반환합니다.
+     * 여러 값으로 추가되지 않은 엔티티는 단일 값을 목록으로 반환합니다.
+     * 
+     * @param name 엔티티 이름
+     * @return 값 목록 (없으면 빈 목록)
+     */
+    public List<String> getEntityValues(String name) {
+        if (entityValues != null && entityValues.containsKey(name) && !entityValues.get(name).isEmpty()) {
+            return Collections.unmodifiableList(entityValues.get(name));
+        }
+        return hasEntity(name) ? List.of(entities.get(name)) : Collections.emptyList();
+    }
+    
     /**
      * 특정 엔티티가 존재하는지 확인하는 메소드
      * @param name 확인할 엔티티 이름
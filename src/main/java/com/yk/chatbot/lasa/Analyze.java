@@ -1,5 +1,8 @@
 package com.yk.chatbot.lasa;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Analyze 인터페이스 - 메시지 분석을 담당하는 두 번째 단계
  * 한국어 의도 분석 및 엔티티 추출을 수행합니다.
@@ -24,4 +27,18 @@ public interface Analyze {
     default AnalysisResult analyze(String message, String userId) {
         return analyze(message);
     }
+    
+    /**
+     * 메시지를 비동기로 분석합니다.
+     * 기본 구현은 동기 분석을 주어진 실행기에서 수행하며,
+     * 네트워크 호출이 있는 구현체는 스레드를 점유하지 않도록 재정의할 수 있습니다.
+     * 
+     * @param message 사용자 메시지
+     * @param userId 사용자 ID
+     * @param executor 분석을 실행할 실행기
+     * @return 분석 결과를 담은 CompletableFuture
+     */
+    default CompletableFuture<AnalysisResult> analyzeAsync(String message, String userId, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> analyze(message, userId), executor);
+    }
 }
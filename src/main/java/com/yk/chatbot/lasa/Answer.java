@@ -2,6 +2,9 @@ package com.yk.chatbot.lasa;
 
 import com.yk.chatbot.dto.ChatResponse;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Answer 인터페이스 - 해결 결과를 바탕으로 최종 응답을 생성하는 네 번째 단계
  */
@@ -14,4 +17,15 @@ public interface Answer {
      * @return 최종 응답
      */
     ChatResponse answer(SolutionResult result);
+    
+    /**
+     * 해결 결과를 바탕으로 비동기로 최종 응답을 생성합니다.
+     * 
+     * @param result 해결 결과
+     * @param executor 응답 생성을 실행할 실행기
+     * @return 최종 응답을 담은 CompletableFuture
+     */
+    default CompletableFuture<ChatResponse> answerAsync(SolutionResult result, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> answer(result), executor);
+    }
 }
@@ -1,5 +1,9 @@
 package com.yk.chatbot.lasa;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 /**
  * Solve 인터페이스 - 분석 결과를 바탕으로 문제를 해결하는 세 번째 단계
  * 분석된 의도와 엔티티를 활용하여 적절한 비즈니스 로직 수행
@@ -13,4 +17,40 @@ public interface Solve {
      * @return 해결 결과 (응답 템플릿, 데이터 등)
      */
     SolutionResult solve(AnalysisResult result);
+    
+    /**
+     * 분석 결과를 바탕으로 비동기로 문제를 해결합니다.
+     * 기본 구현은 동기 해결 로직을 주어진 실행기에서 수행합니다.
+     * 
+     * @param result 분석 결과
+     * @param executor 해결 로직을 실행할 실행기
+     * @return 해결 결과를 담은 CompletableFuture
+     */
+    default CompletableFuture<SolutionResult> solveAsync(AnalysisResult result, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> solve(result), executor);
+    }
+    
+    /**
+     * 해결 과정에서 응답 텍스트를 생성하며 흘려보내는지(스트리밍) 여부를 반환합니다.
+     * 
+     * @param result 분석 결과
+     * @return 스트리밍 여부 (기본값 false)
+     */
+    default boolean streams(AnalysisResult result) {
+        return false;
+    }
+    
+    /**
+     * 생성되는 응답 텍스트를 onToken으로 흘려보내며 비동기로 문제를 해결합니다.
+     * 기본 구현은 토큰 없이 solveAsync와 같습니다.
+     * 
+     * @param result 분석 결과
+     * @param onToken 생성된 텍스트 조각을 받을 콜백 (예외를 던지면 생성을 중단)
+     * @param executor 해결 로직을 실행할 실행기
+     * @return 해결 결과를 담은 CompletableFuture
+     */
+    default CompletableFuture<SolutionResult> solveStreaming(AnalysisResult result, Consumer<String> onToken,
+                                                            Executor executor) {
+        return solveAsync(result, executor);
+    }
 }
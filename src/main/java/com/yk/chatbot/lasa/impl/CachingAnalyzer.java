@@ -0,0 +1,333 @@
+package com.yk.chatbot.lasa.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yk.chatbot.lasa.Analyze;
+import com.yk.chatbot.lasa.AnalysisResult;
+import com.yk.chatbot.support.LogStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 분석 결과 캐시 분석기 (다른 분석기를 감싸는 데코레이터)
+ * "안녕", "서울 날씨 어때?"처럼 자주 반복되는 짧은 메시지는 Rasa 호출과 KOMORAN 분석을 생략하고
+ * 이전 분석 결과를 돌려줍니다. {@link SimpleListener#normalize(String)}로 정규화한 메시지를 키로 사용합니다.
+ *
+ * <p>결과는 메모리(크기, 보관 시간 제한)와 디스크 저장소에 함께 보관하며, 저장소의 결과는 만든 시점의
+ * 모델/사전 버전이 현재와 같을 때만 사용합니다. 버전이 바뀌면 메모리 캐시를 비우고, 버전을 아직 모르면 캐시 없이 분석합니다.
+ * 저장소 읽기와 기록은 분석을 완료한 스레드(HTTP I/O 스레드 등)가 아닌 호출 측 executor에서 수행합니다.
+ * 호출 측이 결과를 수정할 수 있으므로 항상 복사본을 반환합니다.
+ */
+@Slf4j
+public class CachingAnalyzer implements Analyze {
+
+    /**
+     * 캐시된 분석 결과
+     *
+     * @param result 분석 결과 (외부에 노출하지 않음)
+     * @param version 결과를 만든 모델/사전 버전
+     * @param latencyNanos 원래 분석에 걸린 시간
+     * @param createdAtMillis 분석한 시각
+     */
+    private record Entry(AnalysisResult result, String version, long latencyNanos, long createdAtMillis) {
+    }
+
+    private final Analyze delegate;
+    private final LogStore store;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final BooleanSupplier cacheable;
+    private final Cache<String, Entry> entries;
+
+    // 같은 메시지에 대한 동시 분석을 하나로 합침
+    private final ConcurrentMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile String version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param name 메트릭 태그에 사용할 분석기 이름
+     * @param delegate 실제 분석기
+     * @param store 분석 결과 저장소
+     * @param meterRegistry 메트릭 레지스트리
+     * @param maxSize 메모리에 보관할 최대 결과 수
+     * @param ttl 결과 보관 시간
+     * @param version 현재 모델/사전 버전 (아직 모르면 null, {@link #updateVersion}으로 알려 줄 때까지 캐시하지 않음)
+     * @param cacheable 지금 나온 결과를 보관해도 되는지 (예: 일부 분석기가 빠진 성능 저하 상태에서는 false)
+     */
+    public CachingAnalyzer(String name, Analyze delegate, LogStore store, MeterRegistry meterRegistry,
+                           long maxSize, Duration ttl, String version, BooleanSupplier cacheable) {
+        this.delegate = delegate;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.version = version;
+        this.cacheable = cacheable;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        Gauge.builder("analyzer.cache.hit.ratio", this, CachingAnalyzer::hitRatio)
+                .tag("analyzer", name)
+                .description("분석 결과 캐시 적중률")
+                .register(meterRegistry);
+        Gauge.builder("analyzer.cache.size", entries, Cache::estimatedSize)
+                .tag("analyzer", name)
+                .register(meterRegistry);
+
+        log.info("분석 결과 캐시 초기화: 분석기={}, 최대 {}개, TTL {}, 버전={}", name, maxSize, ttl, version);
+    }
+
+    @Override
+    public AnalysisResult analyze(String message) {
+        return analyze(message, null);
+    }
+
+    @Override
+    public AnalysisResult analyze(String message, String userId) {
+        // 캐시에 없으면 호출 스레드에서 바로 분석
+        return analyzeAsync(message, userId, Runnable::run).join();
+    }
+
+    @Override
+    public CompletableFuture<AnalysisResult> analyzeAsync(String message, String userId, Executor executor) {
+        if (message == null) {
+            return delegate.analyzeAsync(message, userId, executor);
+        }
+        String key = SimpleListener.normalize(message);
+        String currentVersion = version;
+        if (key.isEmpty() || currentVersion == null) {
+            return delegate.analyzeAsync(message, userId, executor);
+        }
+
+        Entry cached = entries.getIfPresent(key);
+        if (cached != null && currentVersion.equals(cached.version())) {
+            return CompletableFuture.completedFuture(hit(key, message, cached));
+        }
+
+        // 메모리에 없으면 저장소를 executor에서 읽고, 저장소에도 없으면 분석
+        return CompletableFuture.supplyAsync(() -> readStored(key), executor)
+                .thenCompose(stored -> {
+                    if (stored != null) {
+                        entries.put(key, stored);
+                        return CompletableFuture.completedFuture(hit(key, message, stored));
+                    }
+                    return load(key, message, userId, executor).thenApply(entry -> {
+                        misses.increment();
+                        intentCounter(entry.result().getIntent(), "miss").increment();
+                        return copy(entry.result(), message);
+                    });
+                });
+    }
+
+    private AnalysisResult hit(String key, String message, Entry cached) {
+        hits.increment();
+        intentCounter(cached.result().getIntent(), "hit").increment();
+        Timer.builder("analyzer.cache.saved")
+                .tag("intent", String.valueOf(cached.result().getIntent()))
+                .description("캐시 적중으로 절약한 분석 시간")
+                .register(meterRegistry)
+                .record(cached.latencyNanos(), TimeUnit.NANOSECONDS);
+        log.debug("분석 결과 캐시 적중: '{}' -> {}", key, cached.result().getIntent());
+        return copy(cached.result(), message);
+    }
+
+    /**
+     * 모델이나 사전이 바뀌었을 때 호출합니다. 버전이 달라졌으면 메모리 캐시를 비우고,
+     * 이전 버전으로 저장된 결과는 이후 조회에서 무시합니다.
+     *
+     * @param newVersion 새 모델/사전 버전
+     */
+    public void updateVersion(String newVersion) {
+        if (Objects.equals(version, newVersion)) {
+            return;
+        }
+        if (version == null) {
+            log.info("분석 모델/사전 버전 확인 ({}), 분석 결과 캐시를 사용합니다", newVersion);
+        } else {
+            log.info("분석 모델/사전 버전 변경 ({} -> {}), 분석 결과 캐시를 비웁니다", version, newVersion);
+        }
+        version = newVersion;
+        entries.invalidateAll();
+    }
+
+    /**
+     * 현재 모델/사전 버전 (아직 모르면 null)
+     */
+    public String version() {
+        return version;
+    }
+
+    private CompletableFuture<Entry> load(String key, String message, String userId, Executor executor) {
+        CompletableFuture<Entry> owned = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, owned);
+        if (existing != null) {
+            return existing;
+        }
+
+        String loadVersion = version;
+        long start = System.nanoTime();
+        CompletableFuture<AnalysisResult> analysis;
+        try {
+            analysis = delegate.analyzeAsync(message, userId, executor);
+        } catch (RuntimeException e) {
+            analysis = CompletableFuture.failedFuture(e);
+        }
+        // 저장소 기록이 분석을 완료한 스레드(HTTP I/O 스레드 등)를 막지 않도록 executor에서 처리
+        analysis.whenCompleteAsync((result, e) -> {
+            inFlight.remove(key, owned);
+            if (e != null) {
+                owned.completeExceptionally(e);
+                return;
+            }
+            Entry entry = new Entry(copy(result, message), loadVersion,
+                    System.nanoTime() - start, System.currentTimeMillis());
+            // 분석 도중 버전이 바뀌었거나 오류/성능 저하 결과면 보관하지 않음
+            if (!"error".equals(result.getIntent()) && !result.isDegraded()
+                    && cacheable.getAsBoolean() && loadVersion.equals(version)) {
+                entries.put(key, entry);
+                store(key, entry);
+            }
+            owned.complete(entry);
+        }, executor);
+        return owned;
+    }
+
+    private Entry readStored(String key) {
+        try {
+            Entry entry = store.get(key).map(CachingAnalyzer::decode).orElse(null);
+            if (entry == null || !entry.version().equals(version)
+                    || entry.createdAtMillis() + ttl.toMillis() < System.currentTimeMillis()) {
+                return null;
+            }
+            return entry;
+        } catch (RuntimeException e) {
+            log.warn("분석 결과 저장소 읽기 실패", e);
+            return null;
+        }
+    }
+
+    private void store(String key, Entry entry) {
+        try {
+            store.put(key, encode(entry));
+        } catch (IOException e) {
+            log.warn("분석 결과 저장소 기록 실패", e);
+        }
+    }
+
+    // 저장 형식: 버전, 생성 시각, 분석 시간, 의도, 신뢰도, 단일 값 엔티티, 여러 값 엔티티
+    private static byte[] encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            AnalysisResult result = entry.result();
+            out.writeUTF(entry.version());
+            out.writeLong(entry.createdAtMillis());
+            out.writeLong(entry.latencyNanos());
+            out.writeUTF(result.getIntent());
+            out.writeDouble(result.getConfidence());
+            Map<String, String> entities = result.getEntities() != null ? result.getEntities() : Map.of();
+            out.writeInt(entities.size());
+            for (Map.Entry<String, String> entity : entities.entrySet()) {
+                out.writeUTF(entity.getKey());
+                out.writeUTF(entity.getValue());
+            }
+            Map<String, List<String>> entityValues = result.getEntityValues() != null ? result.getEntityValues() : Map.of();
+            out.writeInt(entityValues.size());
+            for (Map.Entry<String, List<String>> entity : entityValues.entrySet()) {
+                out.writeUTF(entity.getKey());
+                out.writeInt(entity.getValue().size());
+                for (String value : entity.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] value) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+            String version = in.readUTF();
+            long createdAtMillis = in.readLong();
+            long latencyNanos = in.readLong();
+            AnalysisResult result = AnalysisResult.builder()
+                    .intent(in.readUTF())
+                    .confidence(in.readDouble())
+                    .build();
+            int entityCount = in.readInt();
+            for (int i = 0; i < entityCount; i++) {
+                result.addEntity(in.readUTF(), in.readUTF());
+            }
+            int valueCount = in.readInt();
+            for (int i = 0; i < valueCount; i++) {
+                String name = in.readUTF();
+                int size = in.readInt();
+                List<String> values = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    values.add(in.readUTF());
+                }
+                result.getEntityValues().put(name, values);
+            }
+            return new Entry(result, version, latencyNanos, createdAtMillis);
+        } catch (IOException e) {
+            log.warn("저장된 분석 결과를 읽을 수 없습니다", e);
+            return null;
+        }
+    }
+
+    /**
+     * 분석 결과를 복사합니다. 엔티티 맵과 값 목록까지 새로 만들어 호출 측의 수정이 캐시에 반영되지 않게 합니다.
+     */
+    private static AnalysisResult copy(AnalysisResult source, String message) {
+        Map<String, List<String>> entityValues = new HashMap<>();
+        if (source.getEntityValues() != null) {
+            source.getEntityValues().forEach((name, values) -> entityValues.put(name, new ArrayList<>(values)));
+        }
+        return AnalysisResult.builder()
+                .intent(source.getIntent())
+                .confidence(source.getConfidence())
+                .entities(source.getEntities() != null ? new HashMap<>(source.getEntities()) : new HashMap<>())
+                .entityValues(entityValues)
+                .originalMessage(message)
+                .degraded(source.isDegraded())
+                .build();
+    }
+
+    private Counter intentCounter(String intent, String result) {
+        return Counter.builder("analyzer.cache.requests")
+                .tag("intent", String.valueOf(intent))
+                .tag("result", result)
+                .description("의도별 분석 결과 캐시 조회 결과")
+                .register(meterRegistry);
+    }
+
+    private double hitRatio() {
+        double hitCount = hits.sum();
+        double total = hitCount + misses.sum();
+        return total == 0 ? 0 : hitCount / total;
+    }
+}
@@ -4,14 +4,20 @@ import com.yk.chatbot.lasa.Analyze;
 import com.yk.chatbot.lasa.AnalysisResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Rasa와 KOMORAN을 조합한 하이브리드 한국어 분석기
  * 두 분석기의 장점을 활용하여 정확도를 높입니다.
+ * 두 분석기는 별도 스레드 풀에서 동시에 실행되므로 지연 시간은 둘 중 느린 쪽에 맞춰집니다.
  */
 @Slf4j
 @Component
@@ -21,9 +27,20 @@ public class HybridAnalyzer implements Analyze {
     private final RasaAnalyzer rasaAnalyzer;
     private final KoalaNLPAnalyzer koalaNLPAnalyzer; // KOMORAN 기반 분석기
     
+    @Qualifier("analyzerExecutor")
+    private final Executor analyzerExecutor;
+    
     // 의도 신뢰도 임계값 (이 값 이상이면 높은 신뢰도로 간주)
     private static final double HIGH_CONFIDENCE_THRESHOLD = 0.7;
     
+    // KOMORAN 결과만으로 충분할 때 Rasa 응답을 기다리지 않고 반환할지 여부
+    @Value("${chatbot.analyzer.hybrid.early-exit.enabled:true}")
+    private boolean earlyExitEnabled;
+    
+    // 조기 반환 시 Rasa 응답을 추가로 기다리는 최대 시간 (밀리초)
+    @Value("${chatbot.analyzer.hybrid.early-exit.budget-ms:50}")
+    private long earlyExitBudgetMs;
+    
     @Override
     public AnalysisResult analyze(String message) {
         return analyze(message, null);
@@ -31,36 +48,116 @@ public class HybridAnalyzer implements Analyze {
     
     @Override
     public AnalysisResult analyze(String message, String userId) {
-        try {
-            log.info("하이브리드 분석 시작: {}", message);
-            
-            // 두 분석기로 각각 분석 실행
-            AnalysisResult rasaResult = rasaAnalyzer.analyze(message, userId);
-            AnalysisResult koalaNLPResult = koalaNLPAnalyzer.analyze(message, userId);
-            
-            // 최종 결과를 생성할 빌더
-            AnalysisResult result = AnalysisResult.builder()
-                    .originalMessage(message)
-                    .build();
-            
-            // 의도 결정 로직
-            determineIntent(rasaResult, koalaNLPResult, result);
-            
-            // 엔티티 통합 로직
-            mergeEntities(rasaResult, koalaNLPResult, result);
-            
-            log.info("하이브리드 분석 완료: 의도={}, 신뢰도={}, 엔티티 개수={}", 
-                    result.getIntent(), result.getConfidence(), 
-                    result.getEntities() != null ? result.getEntities().size() : 0);
-            
-            return result;
-        } catch (Exception e) {
-            log.error("하이브리드 분석 중 오류 발생", e);
-            return AnalysisResult.builder()
-                    .intent("error")
-                    .confidence(0.0)
-                    .originalMessage(message)
-                    .build();
+        return analyzeAsync(message, userId, analyzerExecutor).join();
+    }
+    
+    /**
+     * Rasa와 KOMORAN 분석을 동시에 실행하고 결과를 병합합니다.
+     * KOMORAN 신뢰도가 임계값 이상이면 Rasa 응답을 정해진 시간만 기다린 뒤 KOMORAN 결과로 반환합니다.
+     */
+    @Override
+    public CompletableFuture<AnalysisResult> analyzeAsync(String message, String userId, Executor executor) {
+        log.info("하이브리드 분석 시작: {}", message);
+        
+        // Rasa 서킷 브레이커가 열려 있으면 KOMORAN 단독으로 분석
+        if (!rasaAnalyzer.isAvailable()) {
+            log.info("Rasa 서버 사용 불가 (서킷 열림), KOMORAN 단독 분석으로 전환");
+            return koalaNLPAnalyzer.analyzeAsync(message, userId, analyzerExecutor)
+                    .thenApply(koalaNLPResult -> koalaNLPOnlyResult(message, koalaNLPResult))
+                    .exceptionally(e -> errorResult(message, e));
+        }
+        
+        // 두 분석기를 분석기 전용 풀에서 동시에 실행
+        CompletableFuture<AnalysisResult> rasaFuture = rasaAnalyzer.analyzeAsync(message, userId, analyzerExecutor);
+        CompletableFuture<AnalysisResult> koalaNLPFuture = koalaNLPAnalyzer.analyzeAsync(message, userId, analyzerExecutor);
+        
+        return koalaNLPFuture
+                .thenCompose(koalaNLPResult -> {
+                    if (earlyExitEnabled && koalaNLPResult.getConfidence() >= HIGH_CONFIDENCE_THRESHOLD) {
+                        // 원본 Future를 건드리지 않도록 복사본에 시간 제한 적용
+                        // 시간 초과 시 JDK 지연 스케줄러 스레드에서 완료되므로 병합은 분석기 풀에서 실행
+                        return rasaFuture.copy()
+                                .completeOnTimeout(null, earlyExitBudgetMs, TimeUnit.MILLISECONDS)
+                                .thenApplyAsync(rasaResult -> {
+                                    if (rasaResult == null) {
+                                        log.info("KOMORAN 고신뢰도 결과로 조기 반환 (Rasa 응답 {}ms 내 미도착)", earlyExitBudgetMs);
+                                        // 더 이상 필요 없는 Rasa 요청은 취소하여 커넥션을 반환
+                                        rasaFuture.cancel(true);
+                                        return koalaNLPOnlyResult(message, koalaNLPResult);
+                                    }
+                                    return combine(message, rasaResult, koalaNLPResult);
+                                }, analyzerExecutor);
+                    }
+                    return rasaFuture.thenApply(rasaResult -> combine(message, rasaResult, koalaNLPResult));
+                })
+                .exceptionally(e -> errorResult(message, e));
+    }
+    
+    private AnalysisResult errorResult(String message, Throwable e) {
+        log.error("하이브리드 분석 중 오류 발생", e);
+        return AnalysisResult.builder()
+                .intent("error")
+                .confidence(0.0)
+                .originalMessage(message)
+                .build();
+    }
+    
+    /**
+     * 두 분석기의 결과를 하나의 분석 결과로 병합합니다.
+     */
+    private AnalysisResult combine(String message, AnalysisResult rasaResult, AnalysisResult koalaNLPResult) {
+        // Rasa 호출이 실패했으면 오류 의도 대신 KOMORAN 결과를 사용
+        if ("error".equals(rasaResult.getIntent())) {
+            log.warn("Rasa 분석 실패, KOMORAN 결과로 대체");
+            return koalaNLPOnlyResult(message, koalaNLPResult);
+        }
+        
+        // 최종 결과를 생성할 빌더
+        AnalysisResult result = AnalysisResult.builder()
+                .originalMessage(message)
+                .build();
+        
+        // 의도 결정 로직
+        determineIntent(rasaResult, koalaNLPResult, result);
+        
+        // 엔티티 통합 로직
+        mergeEntities(rasaResult, koalaNLPResult, result);
+        
+        log.info("하이브리드 분석 완료: 의도={}, 신뢰도={}, 엔티티 개수={}", 
+                result.getIntent(), result.getConfidence(), 
+                result.getEntities() != null ? result.getEntities().size() : 0);
+        
+        return result;
+    }
+    
+    /**
+     * KOMORAN 결과만으로 최종 분석 결과를 생성합니다. Rasa 결과 없이 만들었으므로 성능 저하 결과로 표시합니다.
+     */
+    private AnalysisResult koalaNLPOnlyResult(String message, AnalysisResult koalaNLPResult) {
+        AnalysisResult result = AnalysisResult.builder()
+                .intent(koalaNLPResult.getIntent())
+                .confidence(koalaNLPResult.getConfidence())
+                .originalMessage(message)
+                .degraded(true)
+                .build();
+        
+        if (koalaNLPResult.getEntities() != null) {
+            koalaNLPResult.getEntities().forEach(result::addEntity);
+        }
+        copyEntityValues(koalaNLPResult, result);
+        
+        log.info("하이브리드 분석 완료 (KOMORAN 단독): 의도={}, 신뢰도={}, 엔티티 개수={}", 
+                result.getIntent(), result.getConfidence(), result.getEntities().size());
+        
+        return result;
+    }
+    
+    /**
+     * 여러 값 엔티티를 복사합니다.
+     */
+    private void copyEntityValues(AnalysisResult from, AnalysisResult to) {
+        if (from.getEntityValues() != null) {
+            from.getEntityValues().forEach((name, values) -> values.forEach(value -> to.addEntityValue(name, value)));
         }
     }
     
@@ -163,6 +260,17 @@ public class HybridAnalyzer implements Analyze {
             result.addEntity(entry.getKey(), entry.getValue());
         }
         
+        // 여러 값 엔티티는 단일 값이 채택된 분석기의 값 목록을 사용
+        Map<String, String> koalaNLPEntities = koalaNLPResult.getEntities() != null
+                ? koalaNLPResult.getEntities() : Map.of();
+        for (Map.Entry<String, String> entry : mergedEntities.entrySet()) {
+            String key = entry.getKey();
+            AnalysisResult source = entry.getValue().equals(koalaNLPEntities.get(key)) ? koalaNLPResult : rasaResult;
+            for (String value : source.getEntityValues(key)) {
+                result.addEntityValue(key, value);
+            }
+        }
+        
         // 주요 엔티티 로깅
         if (!mergedEntities.isEmpty()) {
             log.info("병합된 엔티티: {}", mergedEntities);
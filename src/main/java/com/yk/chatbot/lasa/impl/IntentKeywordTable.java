@@ -0,0 +1,92 @@
+package com.yk.chatbot.lasa.impl;
+
+import kr.co.shineware.nlp.komoran.model.Token;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 의도 키워드 조회 테이블
+ * 모든 의도의 키워드를 "형태소 → 의도 인덱스 목록" 하나의 테이블로 컴파일하여,
+ * 토큰 목록을 한 번만 순회하면서 의도 점수와 신뢰도 계산용 매칭 수를 함께 집계합니다.
+ */
+final class IntentKeywordTable {
+
+    private static final String FALLBACK_INTENT = "fallback";
+
+    private final String[] intents;
+    private final Map<String, int[]> morphToIntents;
+
+    /**
+     * @param intentKeywords 의도별 키워드 목록 (키워드는 소문자 형태소)
+     */
+    IntentKeywordTable(Map<String, Set<String>> intentKeywords) {
+        this.intents = intentKeywords.keySet().toArray(new String[0]);
+
+        Map<String, List<Integer>> builder = new HashMap<>();
+        for (int i = 0; i < intents.length; i++) {
+            for (String keyword : intentKeywords.get(intents[i])) {
+                builder.computeIfAbsent(keyword.toLowerCase(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<String, int[]> table = new HashMap<>(builder.size() * 2);
+        builder.forEach((morph, indexes) ->
+                table.put(morph, indexes.stream().mapToInt(Integer::intValue).toArray()));
+        this.morphToIntents = table;
+    }
+
+    /**
+     * 토큰 목록을 한 번 순회하여 의도와 신뢰도를 계산합니다.
+     * 의도는 명사/동사/형용사 토큰의 키워드 매칭 수로 결정하고,
+     * 신뢰도는 결정된 의도의 키워드와 일치하는 전체 토큰 수로 계산합니다.
+     *
+     * @param tokens 형태소 분석 결과 토큰 목록
+     * @return 의도와 신뢰도 (매칭이 없으면 fallback, 0.0)
+     */
+    Match match(List<Token> tokens) {
+        int[] posScores = new int[intents.length];
+        int[] allMatches = new int[intents.length];
+
+        for (Token token : tokens) {
+            int[] intentIndexes = morphToIntents.get(token.getMorph().toLowerCase());
+            if (intentIndexes == null) {
+                continue;
+            }
+
+            // 명사, 동사, 형용사 등 주요 품사만 의도 점수에 반영
+            String pos = token.getPos();
+            boolean scoringPos = pos.startsWith("NN") || pos.startsWith("VV") || pos.startsWith("VA");
+            for (int index : intentIndexes) {
+                allMatches[index]++;
+                if (scoringPos) {
+                    posScores[index]++;
+                }
+            }
+        }
+
+        int best = -1;
+        for (int i = 0; i < posScores.length; i++) {
+            if (posScores[i] > 0 && (best < 0 || posScores[i] > posScores[best])) {
+                best = i;
+            }
+        }
+
+        if (best < 0) {
+            return new Match(FALLBACK_INTENT, 0.0);
+        }
+        return new Match(intents[best], Math.min(1.0, 0.5 + 0.15 * allMatches[best]));
+    }
+
+    /**
+     * 의도 매칭 결과
+     *
+     * @param intent 결정된 의도
+     * @param confidence 신뢰도 (0.0 ~ 1.0)
+     */
+    record Match(String intent, double confidence) {
+    }
+}
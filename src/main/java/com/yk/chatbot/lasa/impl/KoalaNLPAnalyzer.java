@@ -3,75 +3,74 @@ package com.yk.chatbot.lasa.impl;
 import com.yk.chatbot.lasa.Analyze;
 import com.yk.chatbot.lasa.AnalysisResult;
 import com.yk.chatbot.service.WeatherService;
-import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
-import kr.co.shineware.nlp.komoran.core.Komoran;
+import io.micrometer.core.instrument.MeterRegistry;
 import kr.co.shineware.nlp.komoran.model.KomoranResult;
 import kr.co.shineware.nlp.komoran.model.Token;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.CRC32;
 
 /**
  * KOMORAN을 활용한 한국어 텍스트 분석기
+ * 동시 요청은 KOMORAN 인스턴스 풀을 통해 인스턴스를 나눠 사용합니다.
  */
 @Slf4j
 @Component
 public class KoalaNLPAnalyzer implements Analyze {
 
-    private final Komoran komoran;
-    private final Map<String, Set<String>> intentKeywords = initIntentKeywords();
+    private final KomoranPool komoranPool;
+    private final IntentKeywordTable intentKeywordTable = new IntentKeywordTable(initIntentKeywords());
     private final Set<String> cityNames;
     private final WeatherService weatherService;
+    private final String dictionaryVersion;
 
     @Autowired
-    public KoalaNLPAnalyzer(WeatherService weatherService) {
+    public KoalaNLPAnalyzer(WeatherService weatherService,
+                            MeterRegistry meterRegistry,
+                            @Value("${koala.nlp.pool.size:4}") int poolSize,
+                            @Value("${koala.nlp.pool.borrow-timeout-ms:5000}") long borrowTimeoutMs) {
         this.weatherService = weatherService;
         this.cityNames = new HashSet<>(weatherService.getCityCoordinates().keySet());
         
+        // 제주도 추가 (제주만 있는 경우)
+        if (cityNames.contains("제주")) {
+            cityNames.add("제주도");
+        }
+        
+        // 풀 크기를 지정하지 않으면 CPU 코어 수만큼 생성
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        
         try {
-            // KOMORAN 분석기 초기화 (FULL 모델 사용)
-            komoran = new Komoran(DEFAULT_MODEL.FULL);
-            initDictionaries();
+            // KOMORAN 분석기 풀 초기화 (FULL 모델, WeatherService의 모든 도시를 사용자 사전으로 사용)
+            komoranPool = new KomoranPool(size, cityNames, borrowTimeoutMs, meterRegistry);
             log.info("KOMORAN 분석기/사전 초기화 완료");
         } catch (Exception e) {
             log.error("KOMORAN 분석기 초기화 실패", e);
             throw new RuntimeException("KOMORAN 초기화 실패", e);
         }
+        
+        this.dictionaryVersion = computeDictionaryVersion(cityNames, initIntentKeywords());
     }
 
-    private void initDictionaries() {
-        try {
-            // 사용자 사전 항목 생성 - WeatherService의 모든 도시 사용
-            Set<String> locations = cityNames;
-            
-            // 제주도 추가 (제주만 있는 경우)
-            if (locations.contains("제주")) {
-                locations.add("제주도");
-            }
-            
-            // 임시 파일에 사용자 사전 생성
-            File tempFile = File.createTempFile("komoran_user_dic", ".txt");
-            BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile));
-            
-            for (String location : locations) {
-                writer.write(location + "\tNNP");
-                writer.newLine();
-            }
-            writer.close();
-            
-            // 사용자 사전 파일 경로 설정
-            komoran.setUserDic(tempFile.getAbsolutePath());
-            
-            log.debug("KOMORAN 사용자 사전에 {} 항목 추가됨 ({})", locations.size(), tempFile.getAbsolutePath());
-        } catch (Exception e) {
-            log.warn("KOMORAN 사용자 사전 추가 중 오류 발생", e);
-        }
+    /**
+     * 사용자 사전(지명)과 의도 키워드로 계산한 사전 버전
+     * 사전이 바뀌면 값이 달라지므로, 저장해 둔 분석 결과가 현재 사전으로 만든 것인지 확인하는 데 사용합니다.
+     */
+    public String dictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    private static String computeDictionaryVersion(Set<String> cityNames, Map<String, Set<String>> intentKeywords) {
+        CRC32 crc = new CRC32();
+        crc.update(String.join("\n", new TreeSet<>(cityNames)).getBytes(StandardCharsets.UTF_8));
+        new TreeMap<>(intentKeywords).forEach((intent, keywords) ->
+                crc.update((intent + "=" + new TreeSet<>(keywords)).getBytes(StandardCharsets.UTF_8)));
+        return Long.toHexString(crc.getValue());
     }
 
     private static Map<String, Set<String>> initIntentKeywords() {
@@ -94,9 +93,11 @@ public class KoalaNLPAnalyzer implements Analyze {
         try {
             log.info("메시지 분석 시작: {}", message);
 
-            KomoranResult komoranResult = komoran.analyze(message);
-            String intent = determineIntent(komoranResult);
-            double confidence = calcConfidence(komoranResult, intent);
+            KomoranResult komoranResult = komoranPool.analyze(message);
+            // 의도와 신뢰도를 토큰 한 번 순회로 계산
+            IntentKeywordTable.Match match = intentKeywordTable.match(komoranResult.getTokenList());
+            String intent = match.intent();
+            double confidence = match.confidence();
 
             AnalysisResult result = AnalysisResult.builder()
                     .intent(intent)
@@ -120,46 +121,6 @@ public class KoalaNLPAnalyzer implements Analyze {
         }
     }
 
-    /** 의도 결정: 키워드 매칭 스코어 기반 */
-    private String determineIntent(KomoranResult komoranResult) {
-        Map<String, Integer> intentScores = new HashMap<>();
-
-        List<Token> tokens = komoranResult.getTokenList();
-        for (Token token : tokens) {
-            String morphText = token.getMorph().toLowerCase();
-            String pos = token.getPos();
-            
-            // 명사, 동사, 형용사 등 주요 품사에 대해 매칭
-            if (pos.startsWith("NN") || pos.startsWith("VV") || pos.startsWith("VA")) {
-                for (Map.Entry<String, Set<String>> entry : intentKeywords.entrySet()) {
-                    if (entry.getValue().contains(morphText)) {
-                        intentScores.put(entry.getKey(), intentScores.getOrDefault(entry.getKey(), 0) + 1);
-                    }
-                }
-            }
-        }
-
-        return intentScores.entrySet()
-                .stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("fallback");
-    }
-
-    /** 신뢰도: intent별 키워드 매칭 수 기반 동적 계산 */
-    private double calcConfidence(KomoranResult komoranResult, String intent) {
-        if ("fallback".equals(intent) || "error".equals(intent)) return 0.0;
-        
-        Set<String> keywords = intentKeywords.getOrDefault(intent, Set.of());
-        List<Token> tokens = komoranResult.getTokenList();
-        
-        long matched = tokens.stream()
-                .filter(token -> keywords.contains(token.getMorph().toLowerCase()))
-                .count();
-                
-        return Math.min(1.0, 0.5 + 0.15 * matched);
-    }
-
     /** 날씨 관련 개체(주로 위치) 추출 */
     private void extractWeatherEntities(KomoranResult komoranResult, AnalysisResult result) {
         List<String> locations = new ArrayList<>();
@@ -175,21 +136,17 @@ public class KoalaNLPAnalyzer implements Analyze {
             }
         }
         
-        // 추출된 위치가 없으면 기본값(서울) 사용
-        result.addEntity("location", locations.isEmpty() ? "서울" : String.join(",", locations));
+        // 추출된 위치가 없으면 기본값(서울) 사용, 여러 지역이면 각각 별도 값으로 추가
+        if (locations.isEmpty()) {
+            result.addEntity("location", "서울");
+        }
+        for (String location : locations) {
+            result.addEntityValue("location", location);
+        }
     }
 
     private boolean isLocationName(String text) {
-        // WeatherService의 도시 목록을 기반으로 체크
-        if (cityNames.contains(text)) {
-            return true;
-        }
-        
-        // 특별한 케이스: 제주/제주도
-        if ("제주도".equals(text) && cityNames.contains("제주")) {
-            return true;
-        }
-        
-        return false;
+        // 지명 사전 기반 체크 (접미사 변형, 도 단위 별칭 포함)
+        return weatherService.getGazetteer().contains(text);
     }
 }
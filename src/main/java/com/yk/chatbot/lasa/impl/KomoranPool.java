@@ -0,0 +1,129 @@
+package com.yk.chatbot.lasa.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
+import kr.co.shineware.nlp.komoran.core.Komoran;
+import kr.co.shineware.nlp.komoran.model.KomoranResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KOMORAN 분석기 인스턴스 풀
+ * 하나의 Komoran 인스턴스를 여러 스레드가 동시에 사용하지 않도록 인스턴스를 빌려주고 반납받습니다.
+ * 풀 크기만큼 동시에 분석할 수 있으며, 인스턴스를 기다린 시간은 komoran.pool.wait 메트릭으로 기록됩니다.
+ */
+@Slf4j
+public class KomoranPool {
+
+    private final BlockingQueue<Komoran> instances;
+    private final int size;
+    private final long borrowTimeoutMs;
+    private final Timer waitTimer;
+
+    /**
+     * 풀을 생성하고 모든 인스턴스에 사용자 사전을 적용합니다.
+     * KOMORAN은 인스턴스 간 모델 공유 API를 제공하지 않으므로 인스턴스마다 모델을 적재합니다.
+     *
+     * @param size 풀 크기 (동시 분석 가능 수)
+     * @param userDicWords 사용자 사전에 고유명사(NNP)로 등록할 단어
+     * @param borrowTimeoutMs 인스턴스 대기 최대 시간 (밀리초)
+     * @param meterRegistry 메트릭 레지스트리
+     */
+    public KomoranPool(int size, Collection<String> userDicWords, long borrowTimeoutMs, MeterRegistry meterRegistry) {
+        if (size < 1) {
+            throw new IllegalArgumentException("KOMORAN 풀 크기는 1 이상이어야 합니다: " + size);
+        }
+        this.size = size;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.instances = new ArrayBlockingQueue<>(size);
+
+        // 사용자 사전 파일은 한 번만 만들고 모든 인스턴스가 공유
+        String userDicPath = writeUserDic(userDicWords);
+        for (int i = 0; i < size; i++) {
+            Komoran komoran = new Komoran(DEFAULT_MODEL.FULL);
+            if (userDicPath != null) {
+                komoran.setUserDic(userDicPath);
+            }
+            instances.add(komoran);
+        }
+
+        this.waitTimer = Timer.builder("komoran.pool.wait")
+                .description("KOMORAN 인스턴스를 빌리기까지 대기한 시간")
+                .register(meterRegistry);
+        Gauge.builder("komoran.pool.available", instances, BlockingQueue::size)
+                .description("사용 가능한 KOMORAN 인스턴스 수")
+                .register(meterRegistry);
+
+        log.info("KOMORAN 인스턴스 풀 생성: size={}, 사용자 사전 {} 항목", size, userDicWords.size());
+    }
+
+    /**
+     * 풀에서 인스턴스를 빌려 형태소 분석을 수행합니다.
+     *
+     * @param message 분석할 문장
+     * @return 형태소 분석 결과
+     * @throws IllegalStateException 대기 시간 내에 인스턴스를 얻지 못한 경우
+     */
+    public KomoranResult analyze(String message) {
+        Komoran komoran = borrow();
+        try {
+            return komoran.analyze(message);
+        } finally {
+            instances.offer(komoran);
+        }
+    }
+
+    /**
+     * 풀 크기를 반환합니다.
+     */
+    public int size() {
+        return size;
+    }
+
+    private Komoran borrow() {
+        long start = System.nanoTime();
+        try {
+            Komoran komoran = instances.poll(borrowTimeoutMs, TimeUnit.MILLISECONDS);
+            if (komoran == null) {
+                throw new IllegalStateException("KOMORAN 인스턴스 대기 시간 초과 (" + borrowTimeoutMs + "ms)");
+            }
+            return komoran;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("KOMORAN 인스턴스 대기 중 인터럽트 발생", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String writeUserDic(Collection<String> words) {
+        if (words.isEmpty()) {
+            return null;
+        }
+        try {
+            File tempFile = File.createTempFile("komoran_user_dic", ".txt");
+            tempFile.deleteOnExit();
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+                for (String word : words) {
+                    writer.write(word + "\tNNP");
+                    writer.newLine();
+                }
+            }
+            log.debug("KOMORAN 사용자 사전 생성: {} 항목 ({})", words.size(), tempFile.getAbsolutePath());
+            return tempFile.getAbsolutePath();
+        } catch (IOException e) {
+            log.warn("KOMORAN 사용자 사전 추가 중 오류 발생", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.yk.chatbot.lasa.impl;
+
+import com.yk.chatbot.lasa.Analyze;
+import com.yk.chatbot.lasa.AnalysisResult;
+import com.yk.chatbot.location.LocationGazetteer;
+import com.yk.chatbot.service.WeatherService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * 문자 n-gram 분류기를 사용하는 JVM 내 의도 분석기
+ * 시작 시 Rasa 학습 데이터(nlu.yml)로 {@link NgramIntentClassifier}를 학습하여, Rasa 서버 호출 없이
+ * 요청 스레드에서 바로 의도를 분류합니다. 위치 엔티티는 지명 사전으로 추출합니다.
+ * 이 분석기를 선택했을 때만 학습하도록 지연 생성합니다.
+ */
+@Slf4j
+@Lazy
+@Component
+@RequiredArgsConstructor
+public class NgramAnalyzer implements Analyze {
+
+    private static final String FALLBACK_INTENT = "fallback";
+
+    private final WeatherService weatherService;
+
+    @Value("${chatbot.analyzer.ngram.resource:classpath:nlu/nlu.yml}")
+    private Resource trainingData;
+
+    @Value("${chatbot.analyzer.ngram.feature-bits:16}")
+    private int featureBits;
+
+    @Value("${chatbot.analyzer.ngram.epochs:30}")
+    private int epochs;
+
+    @Value("${chatbot.analyzer.ngram.learning-rate:0.5}")
+    private double learningRate;
+
+    @Value("${chatbot.analyzer.ngram.l2:0.00001}")
+    private double l2;
+
+    // 이 확률 미만이면 fallback 의도로 처리 (Rasa FallbackClassifier threshold와 같은 의미)
+    @Value("${chatbot.analyzer.ngram.fallback-threshold:0.3}")
+    private double fallbackThreshold;
+
+    private NgramIntentClassifier classifier;
+
+    @PostConstruct
+    public void init() throws IOException {
+        long start = System.nanoTime();
+        List<NluTrainingData.Example> examples;
+        try (InputStream nluYaml = trainingData.getInputStream()) {
+            examples = NluTrainingData.parse(nluYaml);
+        }
+        if (examples.isEmpty()) {
+            throw new IllegalStateException("n-gram 분석기 학습 예문이 없습니다: " + trainingData);
+        }
+        classifier = NgramIntentClassifier.train(examples, featureBits, epochs, learningRate, l2);
+        log.info("n-gram 의도 분류기 학습 완료: 예문 {}개, 의도 {}개, {}ms",
+                examples.size(), classifier.intents().size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public AnalysisResult analyze(String message) {
+        return analyze(message, null);
+    }
+
+    @Override
+    public AnalysisResult analyze(String message, String userId) {
+        try {
+            NgramIntentClassifier.Prediction prediction = classifier.predict(message);
+            String intent = prediction.confidence() >= fallbackThreshold ? prediction.intent() : FALLBACK_INTENT;
+
+            AnalysisResult result = AnalysisResult.builder()
+                    .intent(intent)
+                    .confidence(prediction.confidence())
+                    .originalMessage(message)
+                    .build();
+
+            if ("weather".equals(intent) || "temperature".equals(intent)) {
+                // 지명 사전으로 메시지에 나타나는 지명을 최장 일치로 모두 추출
+                for (LocationGazetteer.Match match : weatherService.getGazetteer().findAll(message)) {
+                    result.addEntityValue("location", match.surface());
+                }
+            }
+
+            log.debug("n-gram 분석 완료: 의도={}, 신뢰도={}, 엔티티={}",
+                    result.getIntent(), result.getConfidence(), result.getEntities());
+            return result;
+        } catch (Exception e) {
+            log.error("메시지 분석 중 오류: {}", message, e);
+            return AnalysisResult.builder()
+                    .intent("error")
+                    .confidence(0.0)
+                    .originalMessage(message)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.yk.chatbot.lasa.impl;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * 문자 n-gram 기반 의도 분류기
+ * Rasa 파이프라인의 CountVectorsFeaturizer(단어, char_wb 1~4)와 같은 특징을 해시하여 희소 벡터로 만들고,
+ * 학습 예문으로 학습한 소프트맥스 선형 모델로 의도를 분류합니다.
+ * 가중치 행렬은 특징마다 의도별 가중치가 연속되도록 배치하여, 분류는 0이 아닌 특징 수 x 의도 수 번의 곱셈으로 끝납니다.
+ * 학습 후에는 불변이므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+final class NgramIntentClassifier {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MIN_NGRAM = 1;
+    private static final int MAX_NGRAM = 4;
+
+    /**
+     * 분류 결과
+     *
+     * @param intent 가장 확률이 높은 의도
+     * @param confidence 그 의도의 확률 (0.0 ~ 1.0)
+     */
+    record Prediction(String intent, double confidence) {
+    }
+
+    /**
+     * 희소 특징 벡터 (특징 번호 오름차순, L2 정규화)
+     */
+    record SparseVector(int[] indexes, float[] values) {
+    }
+
+    private final String[] intents;
+    private final int featureMask;
+    // [특징 번호 * 의도 수 + 의도 번호]
+    private final float[] weights;
+    private final float[] biases;
+
+    private NgramIntentClassifier(String[] intents, int featureBits, float[] weights, float[] biases) {
+        this.intents = intents;
+        this.featureMask = (1 << featureBits) - 1;
+        this.weights = weights;
+        this.biases = biases;
+    }
+
+    /**
+     * 학습 예문으로 분류기를 학습합니다 (확률적 경사 하강법, 교차 엔트로피 + L2 정규화).
+     *
+     * @param examples 학습 예문
+     * @param featureBits 해시 특징 공간 크기 (2의 지수)
+     * @param epochs 학습 반복 횟수
+     * @param learningRate 초기 학습률 (반복마다 감소)
+     * @param l2 L2 정규화 계수
+     * @return 학습된 분류기
+     */
+    static NgramIntentClassifier train(List<NluTrainingData.Example> examples, int featureBits,
+                                       int epochs, double learningRate, double l2) {
+        Map<String, Integer> intentIndexes = new LinkedHashMap<>();
+        for (NluTrainingData.Example example : examples) {
+            intentIndexes.putIfAbsent(example.intent(), intentIndexes.size());
+        }
+        String[] intents = intentIndexes.keySet().toArray(new String[0]);
+        int classes = intents.length;
+
+        NgramIntentClassifier model = new NgramIntentClassifier(intents, featureBits,
+                new float[(1 << featureBits) * classes], new float[classes]);
+
+        SparseVector[] features = new SparseVector[examples.size()];
+        int[] labels = new int[examples.size()];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = model.features(examples.get(i).text());
+            labels[i] = intentIndexes.get(examples.get(i).intent());
+        }
+
+        int[] order = new int[features.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(42);
+        double[] probabilities = new double[classes];
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            shuffle(order, random);
+            float rate = (float) (learningRate / (1 + 0.1 * epoch));
+            for (int i : order) {
+                SparseVector x = features[i];
+                model.probabilities(x, probabilities);
+                for (int k = 0; k < classes; k++) {
+                    float gradient = (float) (probabilities[k] - (k == labels[i] ? 1 : 0));
+                    for (int n = 0; n < x.indexes().length; n++) {
+                        int w = x.indexes()[n] * classes + k;
+                        model.weights[w] -= rate * (gradient * x.values()[n] + (float) l2 * model.weights[w]);
+                    }
+                    model.biases[k] -= rate * gradient;
+                }
+            }
+        }
+        return model;
+    }
+
+    /**
+     * 메시지의 의도를 분류합니다.
+     *
+     * @param message 사용자 메시지
+     * @return 가장 확률이 높은 의도와 확률
+     */
+    Prediction predict(String message) {
+        double[] probabilities = new double[intents.length];
+        probabilities(features(message), probabilities);
+        int best = 0;
+        for (int k = 1; k < probabilities.length; k++) {
+            if (probabilities[k] > probabilities[best]) {
+                best = k;
+            }
+        }
+        return new Prediction(intents[best], probabilities[best]);
+    }
+
+    /**
+     * 분류할 수 있는 의도 목록
+     */
+    List<String> intents() {
+        return List.of(intents);
+    }
+
+    /**
+     * 단어 특징과 단어 경계 문자 n-gram(char_wb) 특징을 해시한 희소 벡터를 만듭니다.
+     * 단어마다 앞뒤에 공백을 붙여 n-gram을 뽑으므로 단어의 시작과 끝이 특징에 반영됩니다.
+     */
+    SparseVector features(String message) {
+        String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        String[] words = NON_WORD.split(normalized);
+
+        int capacity = 0;
+        for (String word : words) {
+            int padded = word.length() + 2;
+            capacity += 1 + padded * (MAX_NGRAM - MIN_NGRAM + 1);
+        }
+        int[] hashes = new int[capacity];
+        int count = 0;
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            hashes[count++] = hash('w', word, 0, word.length()) & featureMask;
+            String padded = " " + word + " ";
+            for (int n = MIN_NGRAM; n <= MAX_NGRAM; n++) {
+                for (int start = 0; start + n <= padded.length(); start++) {
+                    hashes[count++] = hash('c', padded, start, start + n) & featureMask;
+                }
+            }
+        }
+
+        // 같은 특징을 합쳐 (특징 번호, 등장 횟수)로 변환
+        Arrays.sort(hashes, 0, count);
+        int[] indexes = new int[count];
+        float[] values = new float[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (size > 0 && indexes[size - 1] == hashes[i]) {
+                values[size - 1]++;
+            } else {
+                indexes[size] = hashes[i];
+                values[size++] = 1;
+            }
+        }
+
+        double norm = 0;
+        for (int i = 0; i < size; i++) {
+            norm += values[i] * values[i];
+        }
+        float scale = norm == 0 ? 0 : (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < size; i++) {
+            values[i] *= scale;
+        }
+        return new SparseVector(Arrays.copyOf(indexes, size), Arrays.copyOf(values, size));
+    }
+
+    /**
+     * 의도별 확률을 계산합니다 (소프트맥스).
+     */
+    private void probabilities(SparseVector x, double[] out) {
+        int classes = intents.length;
+        for (int k = 0; k < classes; k++) {
+            out[k] = biases[k];
+        }
+        for (int n = 0; n < x.indexes().length; n++) {
+            int base = x.indexes()[n] * classes;
+            float value = x.values()[n];
+            for (int k = 0; k < classes; k++) {
+                out[k] += value * weights[base + k];
+            }
+        }
+
+        double max = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < classes; k++) {
+            max = Math.max(max, out[k]);
+        }
+        double sum = 0;
+        for (int k = 0; k < classes; k++) {
+            out[k] = Math.exp(out[k] - max);
+            sum += out[k];
+        }
+        for (int k = 0; k < classes; k++) {
+            out[k] /= sum;
+        }
+    }
+
+    // 특징 종류(단어/문자)를 구분하는 접두어를 포함한 FNV-1a 32비트 해시
+    private static int hash(char kind, String text, int start, int end) {
+        int hash = 0x811c9dc5;
+        hash = (hash ^ kind) * 0x01000193;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            hash = (hash ^ (c & 0xff)) * 0x01000193;
+            hash = (hash ^ (c >>> 8)) * 0x01000193;
+        }
+        // 하위 비트를 고르게 섞음
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.yk.chatbot.lasa.impl;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rasa 학습 데이터(nlu.yml) 읽기
+ * 의도별 예문을 엔티티 표기를 걷어낸 문장과 엔티티 목록으로 변환합니다.
+ * synonym, lookup, regex 항목은 사용하지 않습니다.
+ */
+final class NluTrainingData {
+
+    // 예문의 엔티티 표기: [값](엔티티) 또는 [표면형](엔티티:값)
+    private static final Pattern ENTITY = Pattern.compile("\\[([^\\]]+)]\\(([^)]+)\\)");
+
+    /**
+     * 학습 예문
+     *
+     * @param intent 의도
+     * @param text 엔티티 표기를 걷어낸 문장
+     * @param entities 등장 순서대로의 엔티티 (이름, 값)
+     */
+    record Example(String intent, String text, List<String[]> entities) {
+    }
+
+    private NluTrainingData() {
+    }
+
+    /**
+     * nlu.yml을 읽어 예문 목록을 반환합니다.
+     *
+     * @param nluYaml Rasa 학습 데이터
+     * @return 파일에 나온 순서대로의 예문 (형식이 다르면 빈 목록)
+     */
+    static List<Example> parse(InputStream nluYaml) {
+        Object document = new Yaml().load(nluYaml);
+        if (!(document instanceof Map<?, ?> root) || !(root.get("nlu") instanceof List<?> items)) {
+            return List.of();
+        }
+
+        List<Example> examples = new ArrayList<>();
+        for (Object item : items) {
+            if (!(item instanceof Map<?, ?> block)
+                    || !(block.get("intent") instanceof String intent)
+                    || !(block.get("examples") instanceof String lines)) {
+                continue;
+            }
+            for (String line : lines.split("\n")) {
+                String example = line.trim();
+                if (example.startsWith("-")) {
+                    examples.add(toExample(intent, example.substring(1).trim()));
+                }
+            }
+        }
+        return examples;
+    }
+
+    private static Example toExample(String intent, String annotated) {
+        List<String[]> entities = new ArrayList<>();
+        Matcher matcher = ENTITY.matcher(annotated);
+        while (matcher.find()) {
+            String surface = matcher.group(1).trim();
+            String annotation = matcher.group(2).trim();
+            int colon = annotation.indexOf(':');
+            if (colon < 0) {
+                entities.add(new String[]{annotation, surface});
+            } else {
+                entities.add(new String[]{annotation.substring(0, colon).trim(), annotation.substring(colon + 1).trim()});
+            }
+        }
+        return new Example(intent, ENTITY.matcher(annotated).replaceAll("$1"), List.copyOf(entities));
+    }
+}
@@ -2,12 +2,17 @@ package com.yk.chatbot.lasa.impl;
 
 import com.yk.chatbot.lasa.Analyze;
 import com.yk.chatbot.lasa.AnalysisResult;
+import com.yk.chatbot.location.LocationGazetteer;
 import com.yk.chatbot.service.RasaClientService;
+import com.yk.chatbot.service.RasaParseResult;
+import com.yk.chatbot.service.WeatherService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Rasa NLU를 활용한 한국어 분석기 구현체
@@ -18,6 +23,7 @@ import java.util.Map;
 public class RasaAnalyzer implements Analyze {
 
     private final RasaClientService rasaClientService;
+    private final WeatherService weatherService;
     
     @Override
     public AnalysisResult analyze(String message) {
@@ -30,92 +36,104 @@ public class RasaAnalyzer implements Analyze {
             log.info("메시지 분석 시작: {}", message);
             
             // Rasa NLU 서비스 호출
-            Map<String, Object> rasaResult = rasaClientService.parseMessage(message, userId);
-            
-            String intent = (String) rasaResult.get("intent");
-            double confidence = (double) rasaResult.get("confidence");
-            
-            // 분석 결과 생성
-            AnalysisResult result = AnalysisResult.builder()
-                    .intent(intent)
-                    .confidence(confidence)
-                    .originalMessage(message)
-                    .build();
-            
-            // 엔티티 추가
-            @SuppressWarnings("unchecked")
-            Map<String, Object> entities = (Map<String, Object>) rasaResult.get("entities");
-            if (entities != null && !entities.isEmpty()) {
-                log.info("엔티티 처리 시작 (총 {}개)", entities.size());
-                entities.forEach((key, value) -> {
-                    if (value != null) {
-                        String entityValue = value.toString().trim();
-                        if (!entityValue.isEmpty()) {
-                            result.addEntity(key, entityValue);
-                            log.info("엔티티 추가: {}={}", key, entityValue);
-                        } else {
-                            log.warn("빈 엔티티 값 무시: {}", key);
-                        }
-                    } else {
-                        log.warn("null 엔티티 값 무시: {}", key);
-                    }
-                });
-                
-                // location 엔티티 특별 처리 (KoalaNLP 활용)
-                if (!result.hasEntity("location") && intent.equals("weather") || intent.equals("temperature")) {
-                    log.info("location 엔티티를 찾을 수 없어 직접 추출 시도");
-                    // KoalaNLP 또는 다른 방법으로 위치 정보 직접 추출 가능
-                    // 여기서는 간단한 키워드 매칭으로 구현
-                    String lowerMessage = message.toLowerCase();
-                    
-                    // 주요 도시/지역 키워드
-                    String[] locationKeywords = {
-                        // 특별시/광역시
-                        "서울", "부산", "인천", "대구", "광주", "대전", "울산", "세종",
-                        "서울특별시", "부산광역시", "인천광역시", "대구광역시", "광주광역시", "대전광역시", "울산광역시", "세종특별자치시",
-                        
-                        // 도
-                        "경기", "강원", "충북", "충남", "전북", "전남", "경북", "경남", "제주",
-                        "경기도", "강원도", "충청북도", "충청남도", "전라북도", "전라남도", "경상북도", "경상남도", "제주도", "제주특별자치도",
-                        
-                        // 주요 도시
-                        "수원", "성남", "안양", "안산", "고양", "용인", "청주", "천안", "전주", "포항", "창원",
-                        "김해", "평택", "강릉", "원주", "춘천", "속초", "여수", "순천", "목포", "경주", "구미",
-                        "거제", "양산", "진주", "파주", "의정부", "남양주", "화성", "시흥", "광명", "하남", "군포",
-                        "오산", "이천", "안성", "광주", "파주", "김포", "구리", "여주", "양주", "동두천", "과천",
-                        "의왕", "포천", "양평", "동해", "태백", "삼척", "정선", "홍천", "횡성", "영월", "평창",
-                        "정읍", "남원", "김제", "익산", "완주", "진안", "무주", "장수", "임실", "순창", "고창", "부안",
-                        "나주", "광양", "담양", "곡성", "구례", "고흥", "보성", "화순", "장흥", "강진", "해남",
-                        "영암", "무안", "함평", "영광", "장성", "완도", "진도", "신안",
-                        "영덕", "울진", "문경", "예천", "안동", "영양", "영주", "봉화", "울릉", "의성", "청송", "영천",
-                        "경산", "청도", "고령", "성주", "칠곡", "김천", "군위", "사천", "밀양", "의령", "함안",
-                        "창녕", "고성", "남해", "하동", "산청", "함양", "거창", "합천", "통영"
-                    };
-                    
-                    for (String keyword : locationKeywords) {
-                        if (lowerMessage.contains(keyword.toLowerCase())) {
-                            result.addEntity("location", keyword);
-                            log.info("직접 위치 엔티티 추출 성공: {}", keyword);
-                            break;
-                        }
-                    }
-                }
-            } else {
-                log.warn("추출된 엔티티가 없습니다");
-            }
-            
-            log.info("메시지 분석 완료: 의도={}, 신뢰도={}, 엔티티 개수={}", 
-                    result.getIntent(), result.getConfidence(), 
-                    result.getEntities() != null ? result.getEntities().size() : 0);
-            
-            return result;
+            return toAnalysisResult(message, rasaClientService.parseMessage(message, userId));
         } catch (Exception e) {
             log.error("메시지 분석 중 오류 발생", e);
-            return AnalysisResult.builder()
-                    .intent("error")
-                    .confidence(0.0)
-                    .originalMessage(message)
-                    .build();
+            return errorResult(message);
+        }
+    }
+    
+    /**
+     * Rasa 서버를 비동기로 호출하여 분석합니다.
+     * HTTP 응답을 기다리는 동안 실행기 스레드를 점유하지 않으며, 응답 변환과 이후 단계는
+     * HTTP I/O 스레드가 아닌 executor에서 실행합니다.
+     * 반환된 Future를 취소하면 진행 중인 HTTP 요청도 취소됩니다.
+     */
+    @Override
+    public CompletableFuture<AnalysisResult> analyzeAsync(String message, String userId, Executor executor) {
+        log.info("메시지 비동기 분석 시작: {}", message);
+        
+        CompletableFuture<RasaParseResult> request = rasaClientService.parseMessageAsync(message, userId);
+        // 실패한 경우도 executor에서 완료하여 이후 단계가 I/O 스레드에서 실행되지 않게 함
+        CompletableFuture<AnalysisResult> result = request.handleAsync((rasaResult, e) -> {
+            if (e != null) {
+                log.error("메시지 분석 중 오류 발생", e);
+                return errorResult(message);
+            }
+            try {
+                return toAnalysisResult(message, rasaResult);
+            } catch (RuntimeException ex) {
+                log.error("메시지 분석 중 오류 발생", ex);
+                return errorResult(message);
+            }
+        }, executor);
+        // 파생 Future의 취소는 원본으로 전파되지 않으므로 직접 전달
+        result.whenComplete((analysisResult, e) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Rasa 파싱 결과를 분석 결과로 변환합니다.
+     */
+    private AnalysisResult toAnalysisResult(String message, RasaParseResult rasaResult) {
+        String intent = rasaResult.intent();
+        double confidence = rasaResult.confidence();
+        
+        // 분석 결과 생성
+        AnalysisResult result = AnalysisResult.builder()
+                .intent(intent)
+                .confidence(confidence)
+                .originalMessage(message)
+                .build();
+        
+        // 엔티티 추가
+        List<RasaParseResult.Entity> entities = rasaResult.entities();
+        if (!entities.isEmpty()) {
+            log.info("엔티티 처리 시작 (총 {}개)", entities.size());
+            for (RasaParseResult.Entity entity : entities) {
+                String entityValue = entity.value().trim();
+                // 같은 이름의 엔티티가 여러 개면 모두 보관 (예: 여러 지역)
+                result.addEntityValue(entity.name(), entityValue);
+                log.info("엔티티 추가: {}={}", entity.name(), entityValue);
+            }
+        } else {
+            log.warn("추출된 엔티티가 없습니다");
         }
+        
+        // location 엔티티 특별 처리 (날씨/기온 의도인데 위치가 없는 경우)
+        if (!result.hasEntity("location") && ("weather".equals(intent) || "temperature".equals(intent))) {
+            log.info("location 엔티티를 찾을 수 없어 직접 추출 시도");
+            // 지명 사전으로 메시지에 나타나는 지명을 최장 일치로 모두 추출
+            for (LocationGazetteer.Match match : weatherService.getGazetteer().findAll(message)) {
+                result.addEntityValue("location", match.surface());
+                log.info("직접 위치 엔티티 추출 성공: {}", match.surface());
+            }
+        }
+        
+        log.info("메시지 분석 완료: 의도={}, 신뢰도={}, 엔티티 개수={}", 
+                result.getIntent(), result.getConfidence(), 
+                result.getEntities() != null ? result.getEntities().size() : 0);
+        
+        return result;
+    }
+    
+    /**
+     * Rasa 서버 호출이 가능한 상태인지 확인합니다.
+     * 서킷 브레이커가 열려 있으면 false를 반환합니다.
+     */
+    public boolean isAvailable() {
+        return rasaClientService.isAvailable();
+    }
+    
+    private AnalysisResult errorResult(String message) {
+        return AnalysisResult.builder()
+                .intent("error")
+                .confidence(0.0)
+                .originalMessage(message)
+                .build();
     }
 }
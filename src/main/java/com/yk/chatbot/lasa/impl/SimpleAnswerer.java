@@ -8,6 +8,8 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 간단한 응답 생성기 구현체
@@ -60,6 +62,11 @@ public class SimpleAnswerer implements Answer {
                         result.getData().getOrDefault("greeting", "안녕하세요! 무엇을 도와드릴까요?"));
 
             case "weather":
+                // 여러 지역이면 지역별로 묶어서 응답
+                if (result.getData().containsKey("forecasts")) {
+                    return formatMultiLocation(result, true);
+                }
+                
                 // 위치, 날씨 상태, 상세 설명 포함
                 String location = String.valueOf(result.getData().getOrDefault("location", "서울"));
                 String weather = String.valueOf(result.getData().getOrDefault("weather", "알 수 없음"));
@@ -67,19 +74,26 @@ public class SimpleAnswerer implements Answer {
 
                 // 날짜/시간 정보 추가
                 String dateTime = String.valueOf(result.getData().getOrDefault("dateTime", ""));
-                if (!dateTime.isEmpty()) {
+                if (result.getData().containsKey("dataAgeMinutes")) {
+                    // 마지막으로 알려진 값이면 현재 시각 대신 경과 시간 표시
+                    dateTime = dataAgeMarker(result);
+                } else if (!dateTime.isEmpty()) {
                     dateTime = " (" + dateTime + " 기준)";
                 }
 
                 return String.format(template, location, weather, weatherDetail) + dateTime;
 
             case "temperature":
+                if (result.getData().containsKey("forecasts")) {
+                    return formatMultiLocation(result, false);
+                }
+                
                 location = String.valueOf(result.getData().getOrDefault("location", "서울"));
                 String tempValue = String.valueOf(result.getData().getOrDefault("temperature", "0"));
                 int temperature = Integer.parseInt(tempValue);
                 String tempDescription = String.valueOf(result.getData().getOrDefault("tempDescription", ""));
 
-                return String.format(template, location, temperature, tempDescription);
+                return String.format(template, location, temperature, tempDescription) + dataAgeMarker(result);
                 
             case "time":
                 return String.format(template, 
@@ -108,6 +122,41 @@ public class SimpleAnswerer implements Answer {
         }
     }
     
+    /**
+     * 여러 지역의 날씨/기온을 한 줄씩 묶은 응답
+     * 
+     * @param result 해결 결과 (data.forecasts에 지역별 정보)
+     * @param includeWeather 날씨 상태까지 표시할지 여부 (기온 요청이면 false)
+     * @return 형식화된 메시지 문자열
+     */
+    @SuppressWarnings("unchecked")
+    private String formatMultiLocation(SolutionResult result, boolean includeWeather) {
+        List<Map<String, Object>> forecasts = (List<Map<String, Object>>) result.getData().get("forecasts");
+        StringBuilder message = new StringBuilder(includeWeather ? "지역별 현재 날씨입니다." : "지역별 현재 기온입니다.");
+        for (Map<String, Object> forecast : forecasts) {
+            message.append("\n- ").append(forecast.get("location")).append(": ");
+            if (includeWeather) {
+                message.append(forecast.get("weather")).append(", ");
+            }
+            message.append(forecast.get("temperature")).append("°C");
+            if (forecast.containsKey("dataAgeMinutes")) {
+                message.append(" (약 ").append(forecast.get("dataAgeMinutes")).append("분 전 정보)");
+            }
+        }
+        return message.toString();
+    }
+    
+    /**
+     * 마지막으로 알려진 날씨 정보의 경과 시간 표시 (새로 가져온 정보면 빈 문자열)
+     */
+    private String dataAgeMarker(SolutionResult result) {
+        Object age = result.getData().get("dataAgeMinutes");
+        if (age == null) {
+            return "";
+        }
+        return " (약 " + age + "분 전 정보)";
+    }
+    
     /**
      * 오류 응답 생성
      * 
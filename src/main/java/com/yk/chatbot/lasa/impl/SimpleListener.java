@@ -4,6 +4,10 @@ import com.yk.chatbot.dto.ChatRequest;
 import com.yk.chatbot.lasa.Listen;
 import org.springframework.stereotype.Component;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 /**
  * 간단한 리스너 구현체
  * 사용자 입력을 전처리합니다.
@@ -11,18 +15,40 @@ import org.springframework.stereotype.Component;
 @Component
 public class SimpleListener implements Listen {
 
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]");
+
     @Override
     public String listen(ChatRequest request) {
         if (request == null || request.getMessage() == null) {
             return "";
         }
         
+        return normalize(request.getMessage());
+    }
+    
+    /**
+     * 메시지를 정규화합니다. 분석 결과 캐시의 키로도 사용됩니다.
+     * 
+     * @param message 원본 메시지
+     * @return 공백과 특수 문자를 정리한 메시지
+     */
+    public static String normalize(String message) {
         // 앞뒤 공백 제거 및 연속된 공백 처리
-        String message = request.getMessage().trim().replaceAll("\\s+", " ");
+        String normalized = message.trim().replaceAll("\\s+", " ");
         
         // 특수 문자 정리 (선택적)
-        message = message.replaceAll("[^\\p{L}\\p{N}\\s\\p{Punct}]", "");
-        
-        return message;
+        return normalized.replaceAll("[^\\p{L}\\p{N}\\s\\p{Punct}]", "");
+    }
+    
+    /**
+     * 띄어쓰기, 문장 부호, 대소문자, 전각/반각 차이를 없앤 비교용 키를 만듭니다.
+     * 학습 예문 테이블과 폴백 응답 캐시가 비슷한 메시지를 같은 것으로 볼 때 사용합니다.
+     * 
+     * @param message 원본 메시지
+     * @return 문자와 숫자만 남긴 메시지
+     */
+    public static String compact(String message) {
+        String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return NON_WORD.matcher(normalized).replaceAll("");
     }
 }
@@ -3,16 +3,29 @@ package com.yk.chatbot.lasa.impl;
 import com.yk.chatbot.lasa.AnalysisResult;
 import com.yk.chatbot.lasa.Solve;
 import com.yk.chatbot.lasa.SolutionResult;
+import com.yk.chatbot.service.FallbackAnswerCache;
 import com.yk.chatbot.service.OpenAIService;
 import com.yk.chatbot.service.WeatherService;
+import com.yk.chatbot.service.WeatherSnapshot;
+import com.yk.chatbot.support.CancellationRelay;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -21,6 +34,27 @@ public class SimpleSolver implements Solve {
 
     private final WeatherService weatherService;
     private final OpenAIService openAIService;
+    private final FallbackAnswerCache fallbackAnswerCache;
+    
+    @Qualifier("weatherExecutor")
+    private final Executor weatherExecutor;
+    
+    // 여러 지역 조회 시 모든 조회가 공유하는 마감 시간
+    @Value("${weather.fan-out.deadline-ms:3000}")
+    private long fanOutDeadlineMs;
+    
+    // 한 메시지에서 동시에 조회할 최대 지역 수
+    @Value("${weather.fan-out.max-locations:5}")
+    private int maxFanOutLocations;
+    
+    // OpenAI 응답을 기다리는 최대 시간 (넘으면 호출을 취소하고 기본 응답 사용)
+    @Value("${openai.deadline-ms:5000}")
+    private long openAIDeadlineMs;
+    
+    // OpenAI 없이 처리하는 의도 (나머지는 error/fallback으로 OpenAI 응답 사용)
+    private static final Set<String> LOCAL_INTENTS = Set.of(
+        "greeting", "weather", "temperature", "time", "bye", "thanks", "help"
+    );
     
     // 다양한 인사말 응답 패턴 추가
     private static final List<String> GREETING_RESPONSES = Arrays.asList(
@@ -64,30 +98,6 @@ public class SimpleSolver implements Solve {
         "fallback", "%s"
     );
     
-    // 위치 키워드 목록 - 메시지에서 위치 정보 추출 시 사용
-    private static final String[] LOCATION_KEYWORDS = {
-        // 특별시/광역시
-        "서울", "부산", "인천", "대구", "광주", "대전", "울산", "세종",
-        "서울특별시", "부산광역시", "인천광역시", "대구광역시", "광주광역시", "대전광역시", "울산광역시", "세종특별자치시",
-        
-        // 도
-        "경기", "강원", "충북", "충남", "전북", "전남", "경북", "경남", "제주",
-        "경기도", "강원도", "충청북도", "충청남도", "전라북도", "전라남도", "경상북도", "경상남도", "제주도", "제주특별자치도",
-        
-        // 주요 도시
-        "수원", "성남", "안양", "안산", "고양", "용인", "청주", "천안", "전주", "포항", "창원",
-        "김해", "평택", "강릉", "원주", "춘천", "속초", "여수", "순천", "목포", "경주", "구미",
-        "거제", "양산", "진주", "파주", "의정부", "남양주", "화성", "시흥", "광명", "하남", "군포",
-        "오산", "이천", "안성", "광주", "파주", "김포", "구리", "여주", "양주", "동두천", "과천",
-        "의왕", "포천", "양평", "동해", "태백", "삼척", "정선", "홍천", "횡성", "영월", "평창",
-        "정읍", "남원", "김제", "익산", "완주", "진안", "무주", "장수", "임실", "순창", "고창", "부안",
-        "나주", "광양", "담양", "곡성", "구례", "고흥", "보성", "화순", "장흥", "강진", "해남",
-        "영암", "무안", "함평", "영광", "장성", "완도", "진도", "신안",
-        "영덕", "울진", "문경", "예천", "안동", "영양", "영주", "봉화", "울릉", "의성", "청송", "영천",
-        "경산", "청도", "고령", "성주", "칠곡", "김천", "군위", "사천", "밀양", "의령", "함안",
-        "창녕", "고성", "남해", "하동", "산청", "함양", "거창", "합천", "통영"
-    };
-    
     /**
      * 사용자 메시지에서 위치 정보를 추출합니다
      * @param message 사용자 메시지
@@ -98,15 +108,69 @@ public class SimpleSolver implements Solve {
             return "서울";
         }
         
-        for (String keyword : LOCATION_KEYWORDS) {
-            if (message.contains(keyword)) {
-                log.info("메시지에서 위치 키워드 추출 성공: {}", keyword);
-                return keyword;
-            }
+        // 지명 사전으로 메시지에서 가장 먼저 나타나는 지명을 최장 일치로 추출
+        return weatherService.getGazetteer().findFirst(message)
+                .map(match -> {
+                    log.info("메시지에서 위치 키워드 추출 성공: {}", match.surface());
+                    return match.surface();
+                })
+                .orElseGet(() -> {
+                    log.info("메시지에서 위치를 찾을 수 없어 기본값 사용");
+                    return "서울";
+                });
+    }
+    
+    /**
+     * error/fallback 의도는 OpenAI 응답을 기다리는 동안 스레드를 점유하지 않도록 Future를 조합해 처리합니다.
+     * 마감 시간이 지나면 기본 응답으로 바로 완료됩니다.
+     * 캐시 조회(디스크 읽기)와 호출 슬롯 대기는 분석을 완료한 스레드(HTTP I/O, 타이머 스레드)가 아닌 executor에서 수행합니다.
+     */
+    @Override
+    public CompletableFuture<SolutionResult> solveAsync(AnalysisResult result, Executor executor) {
+        if (!streams(result)) {
+            return Solve.super.solveAsync(result, executor);
         }
-        
-        log.info("메시지에서 위치를 찾을 수 없어 기본값 사용");
-        return "서울";
+        boolean error = "error".equals(result.getIntent());
+        SolutionResult solution = error ? createErrorResult() : createFallbackResult();
+        return CompletableFuture.supplyAsync(() -> solution, executor)
+                .thenCompose(s -> enrichWithOpenAIResponseAsync(s, result.getOriginalMessage(), error ? "error" : "fallback"));
+    }
+    
+    @Override
+    public boolean streams(AnalysisResult result) {
+        return result != null && !LOCAL_INTENTS.contains(result.getIntent());
+    }
+    
+    /**
+     * error/fallback 의도는 OpenAI 응답을 스트리밍으로 받아 조각마다 onToken으로 전달하고,
+     * 완성된 응답을 fallbackResponse로 담습니다. 첫 조각이 마감 시간 안에 오지 않으면 기본 응답을 사용합니다.
+     * solveAsync와 마찬가지로 캐시 조회와 호출 시작은 executor에서 수행합니다.
+     */
+    @Override
+    public CompletableFuture<SolutionResult> solveStreaming(AnalysisResult result, Consumer<String> onToken,
+                                                            Executor executor) {
+        if (!streams(result)) {
+            return solveAsync(result, executor);
+        }
+        boolean error = "error".equals(result.getIntent());
+        SolutionResult solution = error ? createErrorResult() : createFallbackResult();
+        // 반환된 Future가 취소되면 진행 중인 OpenAI 스트리밍 호출도 취소
+        CancellationRelay relay = new CancellationRelay();
+        return relay.cancelWith(CompletableFuture.supplyAsync(() -> fallbackAnswerCache.find(result.getOriginalMessage()), executor)
+                .thenCompose(cached -> {
+                    if (cached.isPresent()) {
+                        onToken.accept(cached.get());
+                        return CompletableFuture.completedFuture(solution.addData("fallbackResponse", cached.get()));
+                    }
+                    return relay.track(openAIService.streamResponseWithin(result.getOriginalMessage(),
+                                    Duration.ofMillis(openAIDeadlineMs), onToken))
+                            .thenApply(aiResponse -> {
+                                aiResponse.ifPresentOrElse(
+                                        text -> solution.addData("fallbackResponse", text),
+                                        () -> log.warn("OpenAI 스트리밍 응답 없음, 기본 응답 사용"));
+                                return solution;
+                            });
+                }));
     }
     
     @Override
@@ -117,7 +181,6 @@ public class SimpleSolver implements Solve {
         
         try {
             String intent = result.getIntent();
-            Map<String, String> entities = result.getEntities();
             String originalMessage = result.getOriginalMessage();
             
             log.info("의도 처리 시작: intent={}, confidence={}", intent, result.getConfidence());
@@ -129,75 +192,53 @@ public class SimpleSolver implements Solve {
                     
                 case "weather":
                     // 엔티티에서 지역 정보 추출 (지역이 없으면 기본값 "서울" 사용)
-                    String location = "서울";
-                    if (entities != null && entities.containsKey("location")) {
-                        String extractedLocation = entities.get("location");
-                        if (!extractedLocation.isEmpty()) {
-                            location = extractedLocation;
-                            log.info("날씨 요청 지역 엔티티 추출 성공: {}", location);
-                        } else {
-                            log.warn("날씨 요청 지역 엔티티가 빈 문자열입니다. 원본 메시지: '{}'", result.getOriginalMessage());
-                        }
-                    } else {
-                        log.warn("날씨 요청에서 지역 엔티티를 찾을 수 없습니다. 원본 메시지: '{}'", result.getOriginalMessage());
-                        
-                        // 메시지에서 직접 위치 키워드 찾기 (백업 방법)
-                        location = extractLocationFromMessage(result.getOriginalMessage());
+                    List<String> locations = resolveLocations(result, "날씨");
+                    if (locations.size() > 1) {
+                        return solveMultiLocation(intent, locations);
                     }
+                    String location = locations.get(0);
                     
                     log.info("날씨 정보 요청 처리: 최종 위치 = {}", location);
-                    String weather = weatherService.getWeatherForLocation(location);
+                    WeatherSnapshot snapshot = weatherService.getWeatherSnapshot(location);
+                    String weather = snapshot.description();
                     String weatherDetail = WEATHER_DESCRIPTIONS.getOrDefault(weather, 
                             "오늘은 " + weather + " 상태입니다.");
                     
                     String currentDateTime = LocalDateTime.now()
                             .format(DateTimeFormatter.ofPattern("yyyy년 MM월 dd일 HH시 mm분"));
                     
-                    return createSuccessResult(intent)
+                    SolutionResult weatherResult = createSuccessResult(intent)
                             .addData("location", location)
                             .addData("weather", weather)
                             .addData("weatherDetail", weatherDetail)
+                            .addData("temperature", snapshot.roundedTemperature())
+                            .addData("humidity", snapshot.humidity())
+                            .addData("windSpeed", snapshot.windSpeed())
                             .addData("dateTime", currentDateTime);
+                    return withDataAge(weatherResult, snapshot);
                     
                 case "temperature":
-                    // 엔티티에서 지역 정보 추출 (지역이 없으면 기본값 "서울" 사용)
-                    location = "서울";
-                    if (entities != null && entities.containsKey("location")) {
-                        String extractedLocation = entities.get("location");
-                        if (!extractedLocation.isEmpty()) {
-                            location = extractedLocation;
-                            log.info("기온 요청 지역 엔티티 추출 성공: {}", location);
-                        } else {
-                            log.warn("기온 요청 지역 엔티티가 빈 문자열입니다. 원본 메시지: '{}'", result.getOriginalMessage());
-                        }
-                    } else {
-                        log.warn("기온 요청에서 지역 엔티티를 찾을 수 없습니다. 원본 메시지: '{}'", result.getOriginalMessage());
-                        
-                        // 메시지에서 직접 위치 키워드 찾기 (백업 방법)
-                        location = extractLocationFromMessage(result.getOriginalMessage());
+                    locations = resolveLocations(result, "기온");
+                    if (locations.size() > 1) {
+                        return solveMultiLocation(intent, locations);
                     }
+                    location = locations.get(0);
                     
                     log.info("기온 정보 요청 처리: 최종 위치 = {}", location);
-                    int temp = weatherService.getTemperatureForLocation(location);
+                    // 날씨 의도와 같은 스냅샷을 사용 (같은 격자 칸이면 캐시된 업스트림 결과를 공유)
+                    snapshot = weatherService.getWeatherSnapshot(location);
+                    int temp = snapshot.roundedTemperature();
                     
                     // 온도에 따른 추가 설명
-                    String tempDescription = "";
-                    if (temp <= 0) {
-                        tempDescription = "매우 춥습니다. 따뜻하게 입으세요!";
-                    } else if (temp <= 10) {
-                        tempDescription = "쌀쌀합니다. 겉옷을 챙기세요.";
-                    } else if (temp <= 20) {
-                        tempDescription = "선선한 날씨입니다.";
-                    } else if (temp <= 28) {
-                        tempDescription = "따뜻한 날씨입니다.";
-                    } else {
-                        tempDescription = "더운 날씨입니다. 시원하게 지내세요!";
-                    }
+                    String tempDescription = describeTemperature(temp);
                     
-                    return createSuccessResult(intent)
+                    SolutionResult temperatureResult = createSuccessResult(intent)
                             .addData("location", location)
                             .addData("temperature", temp)
+                            .addData("humidity", snapshot.humidity())
+                            .addData("windSpeed", snapshot.windSpeed())
                             .addData("tempDescription", tempDescription);
+                    return withDataAge(temperatureResult, snapshot);
                     
                 case "time":
                     String currentTime = LocalDateTime.now()
@@ -231,6 +272,127 @@ public class SimpleSolver implements Solve {
         }
     }
     
+    /**
+     * 날씨/기온 요청의 지역 목록을 결정합니다.
+     * 엔티티에 여러 지역이 있으면 모두 반환하고, 엔티티가 없으면 메시지에서 직접 추출합니다.
+     * 
+     * @param result 분석 결과
+     * @param requestType 로그용 요청 종류 (날씨, 기온)
+     * @return 중복 없는 지역 목록 (최소 1개)
+     */
+    private List<String> resolveLocations(AnalysisResult result, String requestType) {
+        Map<String, String> entities = result.getEntities();
+        if (entities != null && entities.containsKey("location")) {
+            List<String> locations = result.getEntityValues("location").stream()
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .distinct()
+                    .limit(maxFanOutLocations)
+                    .collect(Collectors.toList());
+            if (!locations.isEmpty()) {
+                log.info("{} 요청 지역 엔티티 추출 성공: {}", requestType, locations);
+                return locations;
+            }
+            log.warn("{} 요청 지역 엔티티가 빈 문자열입니다. 원본 메시지: '{}'", requestType, result.getOriginalMessage());
+            return List.of("서울");
+        }
+        
+        log.warn("{} 요청에서 지역 엔티티를 찾을 수 없습니다. 원본 메시지: '{}'", requestType, result.getOriginalMessage());
+        // 메시지에서 직접 위치 키워드 찾기 (백업 방법)
+        return List.of(extractLocationFromMessage(result.getOriginalMessage()));
+    }
+    
+    /**
+     * 여러 지역의 날씨를 병렬로 조회하여 하나의 결과로 묶습니다.
+     * 모든 조회가 하나의 마감 시간을 공유하므로 전체 지연은 가장 느린 단일 조회 수준으로 유지되며,
+     * 마감까지 끝나지 않은 지역과 날씨 조회 풀이 가득 차 실행하지 못한 지역은 조회 실패로 표시합니다.
+     * 
+     * @param intent weather 또는 temperature
+     * @param locations 지역 목록
+     * @return 지역별 날씨 정보를 담은 결과 (data.forecasts)
+     */
+    private SolutionResult solveMultiLocation(String intent, List<String> locations) {
+        log.info("여러 지역 {} 요청 병렬 처리: {}", intent, locations);
+        
+        Map<String, CompletableFuture<WeatherSnapshot>> futures = new LinkedHashMap<>();
+        for (String location : locations) {
+            CompletableFuture<WeatherSnapshot> future;
+            try {
+                future = CompletableFuture.supplyAsync(
+                        () -> weatherService.getWeatherSnapshot(location), weatherExecutor);
+            } catch (RejectedExecutionException e) {
+                // 호출 스레드에서 대신 실행하면 마감 시간 대기 전에 조회가 끝날 때까지 묶이므로 실패로 처리
+                log.warn("날씨 조회 풀 포화로 '{}' 조회를 실행하지 못했습니다", location);
+                future = CompletableFuture.failedFuture(e);
+            }
+            futures.put(location, future);
+        }
+        
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                    .get(fanOutDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("여러 지역 날씨 조회 마감 시간 초과 ({}ms)", fanOutDeadlineMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("여러 지역 날씨 조회 중 오류 발생", e);
+        }
+        
+        List<Map<String, Object>> forecasts = new ArrayList<>();
+        futures.forEach((location, future) -> {
+            WeatherSnapshot snapshot;
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                snapshot = future.join();
+            } else {
+                // 이미 실행 중인 조회는 중단되지 않지만, 큐에서 대기 중인 조회는 시작하지 않고 건너뜀
+                future.cancel(false);
+                snapshot = WeatherSnapshot.unavailable();
+            }
+            
+            Map<String, Object> forecast = new LinkedHashMap<>();
+            forecast.put("location", location);
+            forecast.put("weather", snapshot.description());
+            forecast.put("temperature", snapshot.roundedTemperature());
+            forecast.put("humidity", snapshot.humidity());
+            forecast.put("windSpeed", snapshot.windSpeed());
+            if (snapshot.lastKnown()) {
+                forecast.put("dataAgeMinutes", snapshot.ageMinutes());
+            }
+            forecasts.add(forecast);
+        });
+        
+        return createSuccessResult(intent)
+                .addData("forecasts", forecasts);
+    }
+    
+    /**
+     * 기온에 따른 추가 설명
+     */
+    private String describeTemperature(int temp) {
+        if (temp <= 0) {
+            return "매우 춥습니다. 따뜻하게 입으세요!";
+        } else if (temp <= 10) {
+            return "쌀쌀합니다. 겉옷을 챙기세요.";
+        } else if (temp <= 20) {
+            return "선선한 날씨입니다.";
+        } else if (temp <= 28) {
+            return "따뜻한 날씨입니다.";
+        } else {
+            return "더운 날씨입니다. 시원하게 지내세요!";
+        }
+    }
+    
+    /**
+     * 호출 한도 초과 등으로 마지막으로 알려진 날씨를 사용한 경우 정보의 경과 시간을 추가합니다.
+     */
+    private SolutionResult withDataAge(SolutionResult result, WeatherSnapshot snapshot) {
+        if (snapshot.lastKnown()) {
+            result.addData("dataAgeMinutes", snapshot.ageMinutes());
+        }
+        return result;
+    }
+    
     /**
      * 랜덤한 인사말을 반환합니다.
      */
@@ -274,25 +436,40 @@ public class SimpleSolver implements Solve {
     }
     
     /**
-     * SolutionResult에 OpenAI 응답을 추가합니다.
+     * SolutionResult에 OpenAI 응답을 추가합니다 (마감 시간까지 대기).
+     */
+    private void enrichWithOpenAIResponse(SolutionResult result, String userMessage, String intentType) {
+        enrichWithOpenAIResponseAsync(result, userMessage, intentType).join();
+    }
+    
+    /**
+     * OpenAI 응답이 오면 SolutionResult에 추가합니다.
+     * 마감 시간이 지나면 HTTP 호출은 취소되고 기본 응답을 담은 결과로 완료됩니다.
      * 
-     * @param result 결과 객체
+     * @param result 기본 응답이 담긴 해결 결과
      * @param userMessage 사용자 메시지
-     * @param intentType 의도 타입 (fallback 또는 error)
+     * @param intentType 로그용 의도 종류 (error, fallback)
+     * @return 해결 결과
      */
-    private void enrichWithOpenAIResponse(SolutionResult result, String userMessage, String intentType) {
-        try {
-            String aiResponse = openAIService.generateResponseAsync(userMessage)
-                    .get(5, TimeUnit.SECONDS); // 5초 타임아웃으로 응답 대기
-            
-            if (aiResponse != null && !aiResponse.isEmpty()) {
-                log.info("OpenAI로 {} 응답 생성: {}", intentType, aiResponse);
-                result.addData("fallbackResponse", aiResponse); // fallbackResponse 키를 공통으로 사용
-            } else {
-                log.warn("OpenAI 응답 생성 실패, 기본 {} 응답 사용", intentType);
-            }
-        } catch (Exception e) {
-            log.error("OpenAI 응답 대기 중 시간 초과 또는 오류 발생", e);
+    private CompletableFuture<SolutionResult> enrichWithOpenAIResponseAsync(SolutionResult result, String userMessage,
+                                                                           String intentType) {
+        // 비슷한 질문에 대한 답이 있으면 OpenAI를 호출하지 않음
+        Optional<String> cached = fallbackAnswerCache.find(userMessage);
+        if (cached.isPresent()) {
+            log.info("캐시된 {} 응답 사용", intentType);
+            return CompletableFuture.completedFuture(result.addData("fallbackResponse", cached.get()));
         }
+        return openAIService.generateResponseWithin(userMessage, Duration.ofMillis(openAIDeadlineMs))
+                .handle((aiResponse, e) -> {
+                    if (e != null) {
+                        log.error("OpenAI 응답 대기 중 오류 발생", e);
+                    } else if (aiResponse.isPresent() && !aiResponse.get().isEmpty()) {
+                        log.info("OpenAI로 {} 응답 생성: {}", intentType, aiResponse.get());
+                        result.addData("fallbackResponse", aiResponse.get()); // fallbackResponse 키를 공통으로 사용
+                    } else {
+                        log.warn("OpenAI 응답 생성 실패 또는 시간 초과, 기본 {} 응답 사용", intentType);
+                    }
+                    return result;
+                });
     }
 }
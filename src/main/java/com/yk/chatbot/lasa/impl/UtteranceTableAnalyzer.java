@@ -0,0 +1,124 @@
+package com.yk.chatbot.lasa.impl;
+
+import com.yk.chatbot.lasa.Analyze;
+import com.yk.chatbot.lasa.AnalysisResult;
+import com.yk.chatbot.support.PerfectHashTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 학습 예문 완전 일치 분석기 (다른 분석기를 감싸는 데코레이터)
+ * Rasa 학습 데이터(nlu.yml)의 예문은 사용자가 가장 자주 입력하는 문장이므로, 예문을 {@link SimpleListener#compact(String)}로 정규화하여
+ * 의도와 엔티티를 담은 불변 완전 해시 테이블로 컴파일해 두고 분석기보다 먼저 조회합니다.
+ * 일치하면 Rasa 호출과 KOMORAN 분석 없이 바로 결과를 반환하고, 일치하지 않으면 감싼 분석기에 넘깁니다.
+ */
+@Slf4j
+public class UtteranceTableAnalyzer implements Analyze {
+
+    /**
+     * 예문 하나의 분석 결과
+     *
+     * @param intent 의도
+     * @param entities 등장 순서대로의 엔티티 (이름, 값)
+     */
+    record Utterance(String intent, List<String[]> entities) {
+    }
+
+    private final Analyze delegate;
+    private final PerfectHashTable<Utterance> table;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param delegate 예문과 일치하지 않을 때 사용할 분석기
+     * @param nluYaml Rasa 학습 데이터 (nlu.yml)
+     * @param meterRegistry 메트릭 레지스트리
+     */
+    public UtteranceTableAnalyzer(Analyze delegate, InputStream nluYaml, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.table = PerfectHashTable.build(compile(nluYaml));
+        this.hits = Counter.builder("analyzer.utterance-table.requests")
+                .tag("result", "hit")
+                .description("학습 예문 완전 일치 조회 결과")
+                .register(meterRegistry);
+        this.misses = Counter.builder("analyzer.utterance-table.requests")
+                .tag("result", "miss")
+                .description("학습 예문 완전 일치 조회 결과")
+                .register(meterRegistry);
+        log.info("학습 예문 테이블 초기화: {}개 예문", table.size());
+    }
+
+    @Override
+    public AnalysisResult analyze(String message) {
+        return analyze(message, null);
+    }
+
+    @Override
+    public AnalysisResult analyze(String message, String userId) {
+        AnalysisResult result = lookup(message);
+        return result != null ? result : delegate.analyze(message, userId);
+    }
+
+    @Override
+    public CompletableFuture<AnalysisResult> analyzeAsync(String message, String userId, Executor executor) {
+        AnalysisResult result = lookup(message);
+        return result != null
+                ? CompletableFuture.completedFuture(result)
+                : delegate.analyzeAsync(message, userId, executor);
+    }
+
+    private AnalysisResult lookup(String message) {
+        if (message == null) {
+            return null;
+        }
+        Utterance utterance = table.get(SimpleListener.compact(message));
+        if (utterance == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        AnalysisResult result = AnalysisResult.builder()
+                .intent(utterance.intent())
+                .confidence(1.0)
+                .originalMessage(message)
+                .build();
+        for (String[] entity : utterance.entities()) {
+            result.addEntityValue(entity[0], entity[1]);
+        }
+        log.debug("학습 예문 일치: '{}' -> {}", message, utterance.intent());
+        return result;
+    }
+
+    /**
+     * nlu.yml의 의도별 예문을 정규화한 예문 -> 분석 결과로 변환합니다.
+     * 정규화 후 같은 예문이 서로 다른 의도에 있으면 모호하므로 제외합니다.
+     */
+    static Map<String, Utterance> compile(InputStream nluYaml) {
+        Map<String, Utterance> utterances = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (NluTrainingData.Example example : NluTrainingData.parse(nluYaml)) {
+            String key = SimpleListener.compact(example.text());
+            if (key.isEmpty() || ambiguous.contains(key)) {
+                continue;
+            }
+            Utterance previous = utterances.putIfAbsent(key, new Utterance(example.intent(), example.entities()));
+            if (previous != null && !previous.intent().equals(example.intent())) {
+                log.warn("여러 의도에 같은 예문이 있어 제외합니다: '{}' ({}, {})", key, previous.intent(), example.intent());
+                utterances.remove(key);
+                ambiguous.add(key);
+            }
+        }
+        return utterances;
+    }
+}
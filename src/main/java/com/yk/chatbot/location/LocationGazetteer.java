@@ -0,0 +1,401 @@
+package com.yk.chatbot.location;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 한국 지명 사전 (Gazetteer)
+ * 지명과 그 변형(시/도/군/구/특별시/광역시 접미사, 별칭)을 하나의 트라이로 컴파일하여
+ * 메시지 길이에 비례하는 시간에 최장 일치 지명을 찾고 좌표를 바로 돌려줍니다.
+ * 좌표가 있는 지명은 공간 색인에도 등록되어, 좌표로 가장 가까운 지명이나 반경 안의 지명을 찾을 수 있습니다.
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 사용해도 안전합니다.
+ */
+public final class LocationGazetteer {
+
+    // 지명 뒤에 붙을 수 있는 행정구역 접미사
+    private static final String[] SUFFIXES = {"특별자치시", "특별자치도", "특별시", "광역시", "시", "도", "군", "구"};
+
+    // 같은 문자열이 여러 방식으로 등록될 때의 우선순위 (명시적 지명 > 별칭 > 접미사 변형)
+    private static final int PRIORITY_VARIANT = 1;
+    private static final int PRIORITY_ALIAS = 2;
+    private static final int PRIORITY_NAME = 3;
+
+    private static final int ROOT = 0;
+
+    // 지명 항목 (인덱스로 접근, 좌표가 없는 지명은 NaN)
+    private final String[] names;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    // 트라이 노드 배열: 노드 n의 자식은 childChars/childNodes의 [childStart[n], childStart[n] + childCount[n]) 구간에 정렬되어 있음
+    private final int[] childStart;
+    private final int[] childCount;
+    private final char[] childChars;
+    private final int[] childNodes;
+    private final int[] terminalEntry;
+
+    // 좌표가 있는 지명의 공간 색인
+    private final PlaceIndex placeIndex;
+
+    /**
+     * 지명 정보
+     *
+     * @param name 대표 지명 (좌표 테이블의 키)
+     * @param latitude 위도 (좌표가 없으면 NaN)
+     * @param longitude 경도 (좌표가 없으면 NaN)
+     */
+    public record Place(String name, double latitude, double longitude) {
+
+        /**
+         * 좌표가 등록된 지명인지 확인
+         */
+        public boolean hasCoordinates() {
+            return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+        }
+    }
+
+    /**
+     * 메시지에서 찾은 지명
+     *
+     * @param surface 메시지에 나타난 형태 (예: 서울특별시, 경기도)
+     * @param place 해당 지명 정보
+     * @param start 메시지 내 시작 위치
+     * @param end 메시지 내 끝 위치 (제외)
+     */
+    public record Match(String surface, Place place, int start, int end) {
+    }
+
+    /**
+     * 좌표 근처에서 찾은 지명
+     *
+     * @param place 지명 정보
+     * @param distanceKm 질의 좌표로부터의 대권 거리 (km)
+     */
+    public record Nearby(Place place, double distanceKm) {
+    }
+
+    private LocationGazetteer(Builder builder) {
+        int entryCount = builder.names.size();
+        this.names = builder.names.toArray(new String[0]);
+        this.latitudes = new double[entryCount];
+        this.longitudes = new double[entryCount];
+        List<Place> located = new ArrayList<>();
+        for (int i = 0; i < entryCount; i++) {
+            latitudes[i] = builder.latitudes.get(i);
+            longitudes[i] = builder.longitudes.get(i);
+            Place place = place(i);
+            if (place.hasCoordinates()) {
+                located.add(place);
+            }
+        }
+        this.placeIndex = new PlaceIndex(located);
+
+        // 빌더 노드를 BFS 순서로 번호 매겨 배열로 고정
+        List<BuildNode> order = new ArrayList<>();
+        Deque<BuildNode> queue = new ArrayDeque<>();
+        queue.add(builder.root);
+        while (!queue.isEmpty()) {
+            BuildNode node = queue.poll();
+            node.id = order.size();
+            order.add(node);
+            queue.addAll(node.children.values());
+        }
+
+        int nodeCount = order.size();
+        this.childStart = new int[nodeCount];
+        this.childCount = new int[nodeCount];
+        this.childChars = new char[nodeCount - 1];
+        this.childNodes = new int[nodeCount - 1];
+        this.terminalEntry = new int[nodeCount];
+
+        int next = 0;
+        for (BuildNode node : order) {
+            childStart[node.id] = next;
+            childCount[node.id] = node.children.size();
+            terminalEntry[node.id] = node.entry;
+            for (Map.Entry<Character, BuildNode> child : node.children.entrySet()) {
+                childChars[next] = child.getKey();
+                childNodes[next] = child.getValue().id;
+                next++;
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 지명 문자열 전체가 사전의 지명(접미사 변형, 별칭 포함)과 일치하는지 확인합니다.
+     */
+    public boolean contains(String text) {
+        return text != null && exactEntry(text.trim()) >= 0;
+    }
+
+    /**
+     * 위치명을 지명 정보로 변환합니다.
+     * 정확히 일치하는 지명을 우선 사용하고, 접미사가 없는 부분 지명은 가장 짧은 완성형으로 확장하며,
+     * 그 외에는 문자열 안에서 처음 나타나는 지명을 사용합니다.
+     *
+     * @param location 위치명 (예: 강남구, 성산, 서울특별시)
+     * @return 지명 정보 (찾지 못하면 empty)
+     */
+    public Optional<Place> resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+        String text = location.trim();
+
+        int entry = exactEntry(text);
+        if (entry >= 0) {
+            return Optional.of(place(entry));
+        }
+
+        // 접미사 없는 부분 지명은 완성형으로 확장 (예: 성산 -> 성산일출봉)
+        if (!hasSuffix(text)) {
+            entry = shortestCompletion(text);
+            if (entry >= 0) {
+                return Optional.of(place(entry));
+            }
+        }
+
+        return findFirst(text).map(Match::place);
+    }
+
+    /**
+     * 메시지에서 가장 먼저 나타나는 지명을 최장 일치로 찾습니다.
+     */
+    public Optional<Match> findFirst(CharSequence text) {
+        List<Match> matches = scan(text, 1);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    /**
+     * 메시지에 나타나는 모든 지명을 왼쪽부터 겹치지 않게 최장 일치로 찾습니다.
+     */
+    public List<Match> findAll(CharSequence text) {
+        return scan(text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 좌표에서 가장 가까운 지명을 찾습니다.
+     *
+     * @param latitude 위도
+     * @param longitude 경도
+     * @return 가장 가까운 지명과 거리 (좌표가 있는 지명이 없으면 empty)
+     */
+    public Optional<Nearby> nearest(double latitude, double longitude) {
+        return placeIndex.nearest(latitude, longitude);
+    }
+
+    /**
+     * 좌표로부터 반경 안에 있는 지명을 가까운 순서로 찾습니다.
+     *
+     * @param latitude 위도
+     * @param longitude 경도
+     * @param radiusKm 반경 (km)
+     * @return 반경 안의 지명 목록
+     */
+    public List<Nearby> withinRadius(double latitude, double longitude, double radiusKm) {
+        return placeIndex.within(latitude, longitude, radiusKm);
+    }
+
+    /**
+     * 등록된 지명 항목 수
+     */
+    public int size() {
+        return names.length;
+    }
+
+    private List<Match> scan(CharSequence text, int limit) {
+        if (text == null || text.length() == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length && matches.size() < limit) {
+            int node = ROOT;
+            int matchedEntry = -1;
+            int matchedEnd = -1;
+            for (int j = i; j < length; j++) {
+                node = child(node, text.charAt(j));
+                if (node < 0) {
+                    break;
+                }
+                if (terminalEntry[node] >= 0) {
+                    matchedEntry = terminalEntry[node];
+                    matchedEnd = j + 1;
+                }
+            }
+
+            if (matchedEntry >= 0) {
+                matches.add(new Match(text.subSequence(i, matchedEnd).toString(), place(matchedEntry), i, matchedEnd));
+                i = matchedEnd;
+            } else {
+                i++;
+            }
+        }
+        return matches;
+    }
+
+    private int exactEntry(String text) {
+        int node = descend(text);
+        return node < 0 ? -1 : terminalEntry[node];
+    }
+
+    private int shortestCompletion(String prefix) {
+        int start = descend(prefix);
+        if (start < 0) {
+            return -1;
+        }
+        // BFS로 가장 짧은 완성형을 찾음 (같은 길이면 문자 순서가 빠른 쪽)
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            if (terminalEntry[node] >= 0) {
+                return terminalEntry[node];
+            }
+            for (int k = childStart[node], end = k + childCount[node]; k < end; k++) {
+                queue.add(childNodes[k]);
+            }
+        }
+        return -1;
+    }
+
+    private int descend(CharSequence text) {
+        int node = ROOT;
+        for (int i = 0; i < text.length() && node >= 0; i++) {
+            node = child(node, text.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        int low = childStart[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = childChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return childNodes[mid];
+            }
+        }
+        return -1;
+    }
+
+    private Place place(int entry) {
+        return new Place(names[entry], latitudes[entry], longitudes[entry]);
+    }
+
+    private static boolean hasSuffix(String text) {
+        for (String suffix : SUFFIXES) {
+            if (text.length() > suffix.length() && text.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 지명 사전 빌더
+     */
+    public static final class Builder {
+
+        private final BuildNode root = new BuildNode();
+        private final List<String> names = new ArrayList<>();
+        private final List<Double> latitudes = new ArrayList<>();
+        private final List<Double> longitudes = new ArrayList<>();
+        private final Map<String, Integer> entryByName = new TreeMap<>();
+        private final Map<String, String> aliases = new TreeMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 좌표가 있는 지명을 추가합니다. 접미사 변형(강남구, 수원시 등)도 함께 등록됩니다.
+         */
+        public Builder add(String name, double latitude, double longitude) {
+            Integer existing = entryByName.get(name);
+            if (existing != null) {
+                latitudes.set(existing, latitude);
+                longitudes.set(existing, longitude);
+                return this;
+            }
+            int entry = names.size();
+            names.add(name);
+            latitudes.add(latitude);
+            longitudes.add(longitude);
+            entryByName.put(name, entry);
+            return this;
+        }
+
+        /**
+         * 좌표가 없는 지명을 추가합니다. 지명으로 인식되지만 좌표는 별도로 조회해야 합니다.
+         */
+        public Builder addName(String name) {
+            if (!entryByName.containsKey(name)) {
+                add(name, Double.NaN, Double.NaN);
+            }
+            return this;
+        }
+
+        /**
+         * 별칭을 추가합니다. 별칭은 대상 지명의 좌표로 연결됩니다 (예: 경기도 -> 수원).
+         */
+        public Builder addAlias(String alias, String target) {
+            aliases.put(alias, target);
+            return this;
+        }
+
+        public LocationGazetteer build() {
+            for (Map.Entry<String, Integer> entry : entryByName.entrySet()) {
+                String name = entry.getKey();
+                insert(name, entry.getValue(), PRIORITY_NAME);
+                for (String suffix : SUFFIXES) {
+                    if (!name.endsWith(suffix)) {
+                        insert(name + suffix, entry.getValue(), PRIORITY_VARIANT);
+                    }
+                }
+            }
+            for (Map.Entry<String, String> alias : aliases.entrySet()) {
+                Integer target = entryByName.get(alias.getValue());
+                if (target == null) {
+                    throw new IllegalArgumentException("별칭 대상 지명이 없습니다: " + alias.getKey() + " -> " + alias.getValue());
+                }
+                insert(alias.getKey(), target, PRIORITY_ALIAS);
+            }
+            return new LocationGazetteer(this);
+        }
+
+        private void insert(String key, int entry, int priority) {
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new BuildNode());
+            }
+            if (node.entry < 0 || priority > node.priority) {
+                node.entry = entry;
+                node.priority = priority;
+            }
+        }
+    }
+
+    private static final class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private int entry = -1;
+        private int priority;
+        private int id;
+    }
+}
@@ -0,0 +1,151 @@
+package com.yk.chatbot.location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 좌표가 있는 지명의 공간 색인 (3차원 k-d 트리)
+ * 위도/경도를 단위 구 위의 (x, y, z) 벡터로 바꿔 저장하므로 직선(현) 거리가 대권 거리와 같은 순서를 가지며,
+ * 경도 수렴이나 날짜 변경선을 따로 처리하지 않아도 가지치기가 정확합니다.
+ * 트리는 정렬된 배열 하나로 표현하며 (구간 [lo, hi)의 중앙이 노드), 생성 후에는 변경되지 않습니다.
+ */
+final class PlaceIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int DIMENSIONS = 3;
+
+    private final LocationGazetteer.Place[] places;
+    private final double[][] points;
+
+    PlaceIndex(List<LocationGazetteer.Place> input) {
+        LocationGazetteer.Place[] sorted = input.toArray(new LocationGazetteer.Place[0]);
+        double[][] vectors = new double[sorted.length][];
+        for (int i = 0; i < sorted.length; i++) {
+            vectors[i] = toVector(sorted[i].latitude(), sorted[i].longitude());
+        }
+
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        build(order, vectors, 0, order.length, 0);
+
+        this.places = new LocationGazetteer.Place[order.length];
+        this.points = new double[order.length][];
+        for (int i = 0; i < order.length; i++) {
+            places[i] = sorted[order[i]];
+            points[i] = vectors[order[i]];
+        }
+    }
+
+    /**
+     * 가장 가까운 지명을 찾습니다.
+     */
+    Optional<LocationGazetteer.Nearby> nearest(double latitude, double longitude) {
+        if (places.length == 0) {
+            return Optional.empty();
+        }
+        double[] query = toVector(latitude, longitude);
+        double[] best = {Double.POSITIVE_INFINITY, -1};
+        nearest(query, 0, places.length, 0, best);
+        int index = (int) best[1];
+        return Optional.of(new LocationGazetteer.Nearby(places[index], toKilometers(best[0])));
+    }
+
+    /**
+     * 반경 안의 지명을 가까운 순서로 찾습니다.
+     */
+    List<LocationGazetteer.Nearby> within(double latitude, double longitude, double radiusKm) {
+        List<LocationGazetteer.Nearby> result = new ArrayList<>();
+        if (places.length == 0 || radiusKm < 0) {
+            return result;
+        }
+        double[] query = toVector(latitude, longitude);
+        double chord = 2 * Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        within(query, chord * chord, 0, places.length, 0, result);
+        result.sort(Comparator.comparingDouble(LocationGazetteer.Nearby::distanceKm));
+        return result;
+    }
+
+    private void nearest(double[] query, int lo, int hi, int depth, double[] best) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double distance = squaredDistance(query, points[mid]);
+        if (distance < best[0]) {
+            best[0] = distance;
+            best[1] = mid;
+        }
+
+        int axis = depth % DIMENSIONS;
+        double diff = query[axis] - points[mid][axis];
+        // 질의점이 있는 쪽을 먼저 보고, 분할면까지의 거리가 현재 최솟값보다 가까울 때만 반대쪽을 봄
+        if (diff < 0) {
+            nearest(query, lo, mid, depth + 1, best);
+            if (diff * diff < best[0]) {
+                nearest(query, mid + 1, hi, depth + 1, best);
+            }
+        } else {
+            nearest(query, mid + 1, hi, depth + 1, best);
+            if (diff * diff < best[0]) {
+                nearest(query, lo, mid, depth + 1, best);
+            }
+        }
+    }
+
+    private void within(double[] query, double radiusSquared, int lo, int hi, int depth,
+                        List<LocationGazetteer.Nearby> result) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double distance = squaredDistance(query, points[mid]);
+        if (distance <= radiusSquared) {
+            result.add(new LocationGazetteer.Nearby(places[mid], toKilometers(distance)));
+        }
+
+        int axis = depth % DIMENSIONS;
+        double diff = query[axis] - points[mid][axis];
+        if (diff < 0 || diff * diff <= radiusSquared) {
+            within(query, radiusSquared, lo, mid, depth + 1, result);
+        }
+        if (diff >= 0 || diff * diff <= radiusSquared) {
+            within(query, radiusSquared, mid + 1, hi, depth + 1, result);
+        }
+    }
+
+    private static void build(Integer[] order, double[][] vectors, int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int axis = depth % DIMENSIONS;
+        Arrays.sort(order, lo, hi, Comparator.comparingDouble(i -> vectors[i][axis]));
+        int mid = (lo + hi) >>> 1;
+        build(order, vectors, lo, mid, depth + 1);
+        build(order, vectors, mid + 1, hi, depth + 1);
+    }
+
+    private static double[] toVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double toKilometers(double squaredChord) {
+        double chord = Math.sqrt(squaredChord);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+}
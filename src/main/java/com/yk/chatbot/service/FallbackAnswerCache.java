@@ -0,0 +1,333 @@
+package com.yk.chatbot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.yk.chatbot.lasa.impl.SimpleListener;
+import com.yk.chatbot.support.LogStore;
+import com.yk.chatbot.support.MinHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenAI 폴백 응답의 근사 일치 캐시
+ * 띄어쓰기, 조사, 오타만 다른 비슷한 질문에 같은 답을 재사용하도록, 정규화한 메시지의 문자 n-gram으로
+ * MinHash/LSH 색인을 만들고 자카드 유사도가 임계값 이상인 가장 비슷한 질문의 답을 반환합니다.
+ * 항목 수와 보관 시간은 제한되며, 제거된 항목은 색인에서도 지웁니다.
+ * 응답은 디스크 저장소에도 기록하여, 재시작 후 백그라운드에서 색인을 다시 채우고 그 전에는 같은 질문을 저장소에서 바로 찾습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FallbackAnswerCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier("fallbackAnswerStore")
+    private final LogStore store;
+
+    @Value("${openai.semantic-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${openai.semantic-cache.max-size:5000}")
+    private long maxSize;
+
+    @Value("${openai.semantic-cache.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${openai.semantic-cache.similarity-threshold:0.7}")
+    private double similarityThreshold;
+
+    @Value("${openai.semantic-cache.shingle-size:2}")
+    private int shingleSize;
+
+    @Value("${openai.semantic-cache.bands:16}")
+    private int bands;
+
+    @Value("${openai.semantic-cache.rows:4}")
+    private int rows;
+
+    /**
+     * 캐시된 응답
+     *
+     * @param id 항목 식별자
+     * @param normalized 정규화한 질문
+     * @param shingles 질문의 n-gram 해시 집합
+     * @param bandKeys LSH 버킷 키
+     * @param answer 응답
+     * @param latencyNanos 원래 응답을 생성하는 데 걸린 시간
+     * @param createdAtMillis 응답을 생성한 시각
+     */
+    private record Entry(long id, String normalized, int[] shingles, long[] bandKeys,
+                         String answer, long latencyNanos, long createdAtMillis) {
+    }
+
+    private MinHash minHash;
+    private Cache<Long, Entry> entries;
+
+    // LSH 버킷 키 -> 항목 식별자
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    // 정규화한 질문 -> 항목 식별자 (같은 질문은 새 응답으로 교체)
+    private final Map<String, Long> byQuestion = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private Counter hits;
+    private Counter misses;
+    private Timer savedLatency;
+
+    @PostConstruct
+    public void init() {
+        minHash = new MinHash(bands, rows);
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // 저장소에서 다시 올린 응답도 처음 생성한 시각 기준으로 만료
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Entry entry, long currentTime) {
+                        long remainingMillis = entry.createdAtMillis() + Duration.ofHours(ttlHours).toMillis()
+                                - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((id, entry, cause) -> {
+                    if (entry != null) {
+                        unindex(entry);
+                    }
+                })
+                .build();
+
+        hits = Counter.builder("openai.semantic-cache.requests")
+                .tag("result", "hit")
+                .description("폴백 응답 캐시 조회 결과")
+                .register(meterRegistry);
+        misses = Counter.builder("openai.semantic-cache.requests")
+                .tag("result", "miss")
+                .description("폴백 응답 캐시 조회 결과")
+                .register(meterRegistry);
+        savedLatency = Timer.builder("openai.semantic-cache.saved")
+                .description("캐시 적중으로 절약한 OpenAI 응답 시간")
+                .register(meterRegistry);
+        Gauge.builder("openai.semantic-cache.hit.ratio", this, FallbackAnswerCache::hitRatio)
+                .description("폴백 응답 캐시 적중률")
+                .register(meterRegistry);
+        Gauge.builder("openai.semantic-cache.size", this, cache -> cache.entries.estimatedSize())
+                .register(meterRegistry);
+
+        log.info("폴백 응답 캐시 초기화: 사용={}, 유사도 임계값={}, 최대 {}개, TTL {}시간",
+                enabled, similarityThreshold, maxSize, ttlHours);
+    }
+
+    /**
+     * 비슷한 질문에 대해 캐시된 응답을 찾습니다.
+     *
+     * @param message 사용자 메시지
+     * @return 유사도가 임계값 이상인 가장 비슷한 질문의 응답
+     */
+    public Optional<String> find(String message) {
+        if (!enabled || message == null) {
+            return Optional.empty();
+        }
+        String normalized = SimpleListener.compact(message);
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int[] shingles = MinHash.shingles(normalized, shingleSize);
+        Set<Long> candidates = new HashSet<>();
+        for (long key : minHash.bandKeys(minHash.signature(shingles))) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+
+        Entry best = null;
+        double bestSimilarity = similarityThreshold;
+        for (Long id : candidates) {
+            Entry entry = entries.getIfPresent(id);
+            if (entry == null) {
+                continue;
+            }
+            double similarity = MinHash.jaccard(shingles, entry.shingles());
+            if (similarity >= bestSimilarity) {
+                best = entry;
+                bestSimilarity = similarity;
+            }
+        }
+
+        if (best == null) {
+            // 재시작 후 색인을 다시 채우기 전이면 같은 질문을 저장소에서 찾음
+            best = readStored(normalized);
+            if (best == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            index(best);
+            bestSimilarity = 1.0;
+        }
+        hits.increment();
+        savedLatency.record(best.latencyNanos(), TimeUnit.NANOSECONDS);
+        log.info("폴백 응답 캐시 적중: '{}' ~ '{}' (유사도 {})",
+                normalized, best.normalized(), String.format("%.2f", bestSimilarity));
+        return Optional.of(best.answer());
+    }
+
+    /**
+     * 생성한 응답을 저장합니다.
+     *
+     * @param message 사용자 메시지
+     * @param answer 생성된 응답
+     * @param latency 응답을 생성하는 데 걸린 시간 (적중 시 절약한 시간으로 집계)
+     */
+    public void put(String message, String answer, Duration latency) {
+        if (!enabled || message == null || answer == null || answer.isEmpty()) {
+            return;
+        }
+        String normalized = SimpleListener.compact(message);
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        Entry entry = newEntry(normalized, answer, latency.toNanos(), System.currentTimeMillis());
+        index(entry);
+        try {
+            store.put(normalized, encode(entry));
+        } catch (IOException e) {
+            log.warn("폴백 응답 저장소 기록 실패", e);
+        }
+    }
+
+    /**
+     * 시작 후 디스크 저장소의 응답으로 색인을 채웁니다. 보관 시간이 지난 응답은 저장소에서 지웁니다.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - Duration.ofHours(ttlHours).toMillis();
+        List<String> expired = new ArrayList<>();
+        int[] loaded = {0};
+        store.forEach((normalized, value) -> {
+            Entry entry = decode(normalized, value);
+            if (entry == null || entry.createdAtMillis() < cutoff) {
+                expired.add(normalized);
+            } else if (loaded[0] < maxSize && !byQuestion.containsKey(normalized)) {
+                index(entry);
+                loaded[0]++;
+            }
+        });
+        for (String normalized : expired) {
+            try {
+                store.remove(normalized);
+            } catch (IOException e) {
+                log.warn("폴백 응답 저장소 정리 실패", e);
+                break;
+            }
+        }
+        log.info("폴백 응답 캐시 로드 완료: {}개 (만료 {}개 정리)", loaded[0], expired.size());
+    }
+
+    private Entry newEntry(String normalized, String answer, long latencyNanos, long createdAtMillis) {
+        int[] shingles = MinHash.shingles(normalized, shingleSize);
+        long[] bandKeys = minHash.bandKeys(minHash.signature(shingles));
+        return new Entry(nextId.incrementAndGet(), normalized, shingles, bandKeys, answer, latencyNanos, createdAtMillis);
+    }
+
+    private void index(Entry entry) {
+        String normalized = entry.normalized();
+        entries.put(entry.id(), entry);
+        for (long key : entry.bandKeys()) {
+            buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entry.id());
+        }
+        Long previous = byQuestion.put(normalized, entry.id());
+        if (previous != null) {
+            entries.invalidate(previous);
+        }
+    }
+
+    private Entry readStored(String normalized) {
+        try {
+            Entry entry = store.get(normalized).map(value -> decode(normalized, value)).orElse(null);
+            long cutoff = System.currentTimeMillis() - Duration.ofHours(ttlHours).toMillis();
+            return entry != null && entry.createdAtMillis() >= cutoff ? entry : null;
+        } catch (RuntimeException e) {
+            log.warn("폴백 응답 저장소 읽기 실패", e);
+            return null;
+        }
+    }
+
+    // 저장 형식: 생성 시각(8) + 생성 시간(8) + 응답(UTF-8)
+    private static byte[] encode(Entry entry) {
+        byte[] answer = entry.answer().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(16 + answer.length)
+                .putLong(entry.createdAtMillis())
+                .putLong(entry.latencyNanos())
+                .put(answer)
+                .array();
+    }
+
+    private Entry decode(String normalized, byte[] value) {
+        if (value.length < 16) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        long createdAtMillis = buffer.getLong();
+        long latencyNanos = buffer.getLong();
+        String answer = new String(value, 16, value.length - 16, StandardCharsets.UTF_8);
+        return newEntry(normalized, answer, latencyNanos, createdAtMillis);
+    }
+
+    private void unindex(Entry entry) {
+        for (long key : entry.bandKeys()) {
+            buckets.computeIfPresent(key, (k, ids) -> {
+                ids.remove(entry.id());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        byQuestion.remove(entry.normalized(), entry.id());
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,143 @@
+package com.yk.chatbot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.yk.chatbot.location.LocationGazetteer;
+import com.yk.chatbot.support.LogStore;
+import com.yk.chatbot.support.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Geocoding 결과 캐시
+ * 지명별 좌표를 크기 제한이 있는 동시성 캐시에 보관하고, 찾지 못한 지명도 일정 시간 기억하여
+ * 잘못된 입력으로 API를 반복 호출하지 않도록 합니다.
+ * 찾은 좌표는 디스크 저장소({@link LogStore})에도 기록하고 메모리에 없을 때 먼저 찾아보므로, 재시작 후에도 API 호출 없이 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeocodeCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier("geocodeStore")
+    private final LogStore store;
+
+    @Value("${weather.geocode.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${weather.geocode.cache.negative-ttl-minutes:60}")
+    private long negativeTtlMinutes;
+
+    // 값이 empty면 찾지 못한 지명 (네거티브 캐시)
+    private Cache<String, Optional<LocationGazetteer.Place>> cache;
+
+    private SingleFlight<String, Optional<LocationGazetteer.Place>> singleFlight;
+
+    @PostConstruct
+    public void init() {
+        Duration negativeTtl = Duration.ofMinutes(negativeTtlMinutes);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<LocationGazetteer.Place>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<LocationGazetteer.Place> value, long currentTime) {
+                        // 찾은 좌표는 만료 없이 크기 제한으로만 제거
+                        return value.isPresent() ? Long.MAX_VALUE : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<LocationGazetteer.Place> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<LocationGazetteer.Place> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "geocode");
+        singleFlight = new SingleFlight<>("geocode", meterRegistry);
+    }
+
+    /**
+     * 지명의 좌표를 캐시에서 찾고, 없으면 loader로 조회하여 저장합니다.
+     * 같은 지명의 동시 조회는 한 번의 API 호출로 합칩니다.
+     *
+     * @param location 위치명
+     * @param loader Geocoding API 호출 함수 (찾지 못하면 empty, 호출 실패는 예외로 전달되어 캐시하지 않음)
+     * @return 좌표 (찾지 못한 지명이면 empty)
+     */
+    public Optional<LocationGazetteer.Place> get(String location, Function<String, Optional<LocationGazetteer.Place>> loader) {
+        Optional<LocationGazetteer.Place> cached = cache.getIfPresent(location);
+        if (cached != null) {
+            return cached;
+        }
+
+        return singleFlight.execute(location, () -> {
+            Optional<LocationGazetteer.Place> loaded = cache.getIfPresent(location);
+            if (loaded == null) {
+                LocationGazetteer.Place stored = readStored(location);
+                if (stored != null) {
+                    loaded = Optional.of(stored);
+                    cache.put(location, loaded);
+                }
+            }
+            if (loaded == null) {
+                loaded = loader.apply(location);
+                cache.put(location, loaded);
+                loaded.ifPresent(place -> store(location, place));
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * 캐시된 항목 수 (네거티브 항목 포함, 근사값)
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 디스크 저장소에서 좌표를 찾습니다. 없으면 null
+     */
+    private LocationGazetteer.Place readStored(String location) {
+        try {
+            Optional<byte[]> stored = store.get(location);
+            if (stored.isEmpty()) {
+                return null;
+            }
+            // 형식: 위도,경도
+            String[] latLon = new String(stored.get(), StandardCharsets.UTF_8).split(",");
+            return new LocationGazetteer.Place(location, Double.parseDouble(latLon[0]), Double.parseDouble(latLon[1]));
+        } catch (RuntimeException e) {
+            log.warn("Geocoding 저장소 읽기 실패: {}", location, e);
+            return null;
+        }
+    }
+
+    private void store(String location, LocationGazetteer.Place place) {
+        try {
+            store.put(location, (place.latitude() + "," + place.longitude()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Geocoding 저장소 기록 실패: {}", location, e);
+        }
+    }
+}
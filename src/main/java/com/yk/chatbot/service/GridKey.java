@@ -0,0 +1,36 @@
+package com.yk.chatbot.service;
+
+/**
+ * 격자 단위로 스냅한 좌표 키
+ * 같은 격자 칸에 속한 지역(예: 강남과 송파)은 같은 키를 가지므로 날씨 캐시 항목을 공유합니다.
+ *
+ * @param latCell 위도 격자 인덱스
+ * @param lonCell 경도 격자 인덱스
+ * @param gridDegrees 격자 한 칸의 크기 (도)
+ */
+public record GridKey(int latCell, int lonCell, double gridDegrees) {
+
+    /**
+     * 좌표를 격자 칸으로 스냅합니다.
+     */
+    public static GridKey of(double latitude, double longitude, double gridDegrees) {
+        return new GridKey(
+                (int) Math.floor(latitude / gridDegrees),
+                (int) Math.floor(longitude / gridDegrees),
+                gridDegrees);
+    }
+
+    /**
+     * 격자 칸 중심의 위도
+     */
+    public double centerLatitude() {
+        return (latCell + 0.5) * gridDegrees;
+    }
+
+    /**
+     * 격자 칸 중심의 경도
+     */
+    public double centerLongitude() {
+        return (lonCell + 0.5) * gridDegrees;
+    }
+}
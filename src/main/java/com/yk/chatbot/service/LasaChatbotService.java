@@ -8,10 +8,21 @@ import com.yk.chatbot.lasa.Answer;
 import com.yk.chatbot.lasa.Listen;
 import com.yk.chatbot.lasa.Solve;
 import com.yk.chatbot.lasa.SolutionResult;
+import com.yk.chatbot.support.CancellationRelay;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
 /**
  * LASA 프레임워크 기반 챗봇 서비스
  * Listen, Analyze, Solve, Answer 단계를 통해 사용자 요청을 처리합니다.
@@ -25,6 +36,14 @@ public class LasaChatbotService {
     private final Analyze analyzer;
     private final Solve solver;
     private final Answer answerer;
+    private final WeatherService weatherService;
+    
+    @Qualifier("lasaExecutor")
+    private final Executor lasaExecutor;
+    
+    // 비동기 처리 전체 제한 시간 (밀리초)
+    @Value("${service.timeout.read:15000}")
+    private long processTimeout;
     
     /**
      * 사용자 메시지를 처리하고 응답을 생성합니다.
@@ -45,7 +64,8 @@ public class LasaChatbotService {
             log.debug("전처리된 메시지: {}", preprocessedMessage);
             
             // LASA 단계 2: Analyze - 의도 및 엔티티 분석
-            AnalysisResult analysisResult = analyzer.analyze(preprocessedMessage, request.getUserId());
+            AnalysisResult analysisResult = applyClientLocation(request,
+                    analyzer.analyze(preprocessedMessage, request.getUserId()));
             log.debug("분석 결과: intent={}, confidence={}, entities={}", 
                     analysisResult.getIntent(), 
                     analysisResult.getConfidence(), 
@@ -68,6 +88,144 @@ public class LasaChatbotService {
         }
     }
     
+    /**
+     * 사용자 메시지를 비동기로 처리합니다.
+     * 각 LASA 단계를 CompletableFuture로 연결하여 요청 스레드를 점유하지 않습니다.
+     * 
+     * @param request 사용자 요청
+     * @return 챗봇 응답을 담은 CompletableFuture
+     */
+    public CompletableFuture<ChatResponse> processAsync(ChatRequest request) {
+        if (request == null || request.getMessage() == null || request.getMessage().trim().isEmpty()) {
+            return CompletableFuture.completedFuture(createErrorResponse("유효하지 않은 요청입니다."));
+        }
+        
+        log.info("사용자 메시지 비동기 처리 시작: {}", request.getMessage());
+        
+        return CompletableFuture
+                // LASA 단계 1: Listen - 사용자 입력 전처리
+                .supplyAsync(() -> listener.listen(request), lasaExecutor)
+                // LASA 단계 2: Analyze - 의도 및 엔티티 분석
+                .thenCompose(preprocessedMessage -> {
+                    log.debug("전처리된 메시지: {}", preprocessedMessage);
+                    return analyzer.analyzeAsync(preprocessedMessage, request.getUserId(), lasaExecutor);
+                })
+                .thenApply(analysisResult -> applyClientLocation(request, analysisResult))
+                // LASA 단계 3: Solve - 문제 해결 및 응답 준비
+                .thenCompose(analysisResult -> {
+                    log.debug("분석 결과: intent={}, confidence={}, entities={}", 
+                            analysisResult.getIntent(), 
+                            analysisResult.getConfidence(), 
+                            analysisResult.getEntities());
+                    return solver.solveAsync(analysisResult, lasaExecutor);
+                })
+                // LASA 단계 4: Answer - 최종 응답 생성
+                .thenCompose(solutionResult -> {
+                    log.debug("해결 결과: status={}, intent={}", 
+                            solutionResult.getStatus(), 
+                            solutionResult.getOriginalIntent());
+                    return answerer.answerAsync(solutionResult, lasaExecutor);
+                })
+                .orTimeout(processTimeout, TimeUnit.MILLISECONDS)
+                .handle((response, e) -> {
+                    if (e != null) {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        if (cause instanceof TimeoutException) {
+                            log.error("메시지 처리 시간 초과 ({}ms)", processTimeout);
+                            return createErrorResponse("처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+                        }
+                        log.error("메시지 비동기 처리 중 오류 발생", cause);
+                        return createErrorResponse("처리 중 오류가 발생했습니다: " + cause.getMessage());
+                    }
+                    log.info("응답 생성 완료: {}", response.getMessage());
+                    return response;
+                });
+    }
+    
+    /**
+     * 사용자 메시지를 처리하면서 생성되는 응답을 스트리밍으로 전달합니다.
+     * 응답을 생성하며 흘려보내는 의도(OpenAI 폴백 등)는 분석 결과를 먼저 onAnalysis로 전달한 뒤
+     * 텍스트 조각을 onToken으로 전달하고, 그 밖의 의도는 콜백 없이 최종 응답만 반환합니다.
+     * {@link #processAsync}와 같은 전체 제한 시간을 넘기면 시간 초과 오류 응답으로 완료합니다.
+     * 반환된 Future를 취소하거나 시간이 초과되면 진행 중인 응답 생성도 취소합니다.
+     * 
+     * @param request 사용자 요청
+     * @param onAnalysis 분석 결과를 받을 콜백 (스트리밍하는 의도만 호출)
+     * @param onToken 생성된 텍스트 조각을 받을 콜백 (예외를 던지면 생성을 중단)
+     * @return 최종 챗봇 응답을 담은 CompletableFuture
+     */
+    public CompletableFuture<ChatResponse> processStream(ChatRequest request, Consumer<AnalysisResult> onAnalysis,
+                                                         Consumer<String> onToken) {
+        if (request == null || request.getMessage() == null || request.getMessage().trim().isEmpty()) {
+            return CompletableFuture.completedFuture(createErrorResponse("유효하지 않은 요청입니다."));
+        }
+        
+        log.info("사용자 메시지 스트리밍 처리 시작: {}", request.getMessage());
+        
+        // 분석 결과는 캐시에서 다른 요청과 공유될 수 있으므로 취소 대상은 응답 생성 단계로 한정
+        CancellationRelay relay = new CancellationRelay();
+        return relay.cancelWith(CompletableFuture
+                .supplyAsync(() -> listener.listen(request), lasaExecutor)
+                .thenCompose(preprocessedMessage -> analyzer.analyzeAsync(preprocessedMessage, request.getUserId(), lasaExecutor))
+                .thenApply(analysisResult -> applyClientLocation(request, analysisResult))
+                .thenCompose(analysisResult -> {
+                    if (relay.isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    if (solver.streams(analysisResult)) {
+                        onAnalysis.accept(analysisResult);
+                    }
+                    return relay.track(solver.solveStreaming(analysisResult, onToken, lasaExecutor));
+                })
+                .thenCompose(solutionResult -> answerer.answerAsync(solutionResult, lasaExecutor))
+                .orTimeout(processTimeout, TimeUnit.MILLISECONDS)
+                .handle((response, e) -> {
+                    if (e != null) {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        if (cause instanceof TimeoutException) {
+                            log.error("메시지 스트리밍 처리 시간 초과 ({}ms)", processTimeout);
+                            relay.cancel();
+                            return createErrorResponse("처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+                        }
+                        log.error("메시지 스트리밍 처리 중 오류 발생", cause);
+                        return createErrorResponse("처리 중 오류가 발생했습니다: " + cause.getMessage());
+                    }
+                    log.info("스트리밍 응답 생성 완료: {}", response.getMessage());
+                    return response;
+                }));
+    }
+    
+    /**
+     * 요청에 클라이언트 좌표가 있고 메시지에 지명이 없는 날씨/기온 요청이면,
+     * 좌표에서 가장 가까운 지역을 위치 엔티티로 사용합니다.
+     * 
+     * @param request 사용자 요청
+     * @param result 분석 결과
+     * @return 위치 엔티티가 반영된 분석 결과
+     */
+    private AnalysisResult applyClientLocation(ChatRequest request, AnalysisResult result) {
+        if (request.getLatitude() == null || request.getLongitude() == null) {
+            return result;
+        }
+        if (!"weather".equals(result.getIntent()) && !"temperature".equals(result.getIntent())) {
+            return result;
+        }
+        // 메시지에 지명이 있으면 그 지명을 우선
+        if (result.getOriginalMessage() != null
+                && weatherService.getGazetteer().findFirst(result.getOriginalMessage()).isPresent()) {
+            return result;
+        }
+        
+        weatherService.findNearestLocation(request.getLatitude(), request.getLongitude())
+                .ifPresent(nearby -> {
+                    log.info("클라이언트 좌표 ({}, {}) -> 가장 가까운 지역 '{}' ({}km)",
+                            request.getLatitude(), request.getLongitude(),
+                            nearby.place().name(), String.format("%.1f", nearby.distanceKm()));
+                    result.replaceEntity("location", nearby.place().name());
+                });
+        return result;
+    }
+    
     /**
      * 오류 응답 생성
      * 
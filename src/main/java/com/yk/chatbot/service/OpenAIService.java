@@ -1,31 +1,71 @@
 package com.yk.chatbot.service;
 
 import io.github.sashirestela.cleverclient.client.OkHttpClientAdapter;
+import io.github.sashirestela.cleverclient.retry.RetryConfig;
 import io.github.sashirestela.openai.SimpleOpenAI;
+import io.github.sashirestela.openai.domain.chat.Chat;
 import io.github.sashirestela.openai.domain.chat.ChatMessage;
 import io.github.sashirestela.openai.domain.chat.ChatRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * OpenAI API를 통해 챗봇 응답을 개선하는 서비스
+ * 연결 풀을 공유하는 클라이언트 하나를 재사용하며, 동시 호출 수는 세마포어로 제한합니다.
+ * 반환된 Future를 취소하면 진행 중인 HTTP 호출도 취소되어 토큰과 연결을 더 쓰지 않습니다.
  */
 @Slf4j
 @Service
-@EnableAsync
+@RequiredArgsConstructor
 public class OpenAIService {
 
+    private static final String DISABLED_MESSAGE = "죄송합니다. 요청을 이해하지 못했습니다. 다른 방식으로 질문해 주시겠어요?";
+    private static final String ERROR_MESSAGE = "죄송합니다. 현재 응답을 생성할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+    private static final String SYSTEM_PROMPT = "너는 사용자의 궁금증을 해결해주는 챗봇이야. 사용자의 질문에 대해 정확하고 간결하게 답변해줘.";
+
+    /**
+     * SimpleOpenAI는 OkHttp Call을 노출하지 않으므로, 호출을 만드는 스레드에서 생성되는 Call을 가로채 취소에 사용
+     * (OkHttp는 newCall 시점에 호출 스레드에서 EventListener.Factory를 호출함)
+     */
+    private static final ThreadLocal<Consumer<Call>> CALL_CAPTURE = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final FallbackAnswerCache fallbackAnswerCache;
+
     @Value("${openai.key}")
     private String openAIApiKey;
-    
+
+    @Value("${openai.base-url:https://api.openai.com}")
+    private String baseUrl;
+
     @Value("${openai.model}")
     private String model;
-    
+
     @Value("${openai.enabled}")
     private boolean enabled;
 
@@ -35,43 +75,334 @@ public class OpenAIService {
     @Value("${openai.temperature}")
     private double temperature;
 
+    @Value("${openai.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${openai.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${openai.http.pool.max-idle:5}")
+    private int poolMaxIdle;
+
+    @Value("${openai.http.pool.keep-alive-seconds:300}")
+    private long poolKeepAliveSeconds;
+
+    @Value("${openai.http.dispatcher.max-requests:32}")
+    private int dispatcherMaxRequests;
+
+    @Value("${openai.http.dispatcher.max-requests-per-host:16}")
+    private int dispatcherMaxRequestsPerHost;
+
+    @Value("${openai.concurrency.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${openai.concurrency.acquire-timeout-ms:500}")
+    private long acquireTimeoutMs;
+
+    private OkHttpClientAdapter clientAdapter;
+    private SimpleOpenAI openAI;
+    private Semaphore gate;
+    // 스트리밍 응답을 읽는 스레드 (OkHttp 디스패처 풀)
+    private ExecutorService streamReader;
+
+    private Timer gateWait;
+    private Counter gateRejected;
+    private Counter deadlineExceeded;
+    private Counter lateCompletions;
+
+    @PostConstruct
+    public void init() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(dispatcherMaxRequests);
+        dispatcher.setMaxRequestsPerHost(dispatcherMaxRequestsPerHost);
+
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(poolMaxIdle, poolKeepAliveSeconds, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .eventListenerFactory(call -> {
+                    Consumer<Call> capture = CALL_CAPTURE.get();
+                    if (capture != null) {
+                        capture.accept(call);
+                    }
+                    return EventListener.NONE;
+                })
+                .build();
+
+        streamReader = dispatcher.executorService();
+        clientAdapter = new OkHttpClientAdapter(okHttpClient);
+        if (isAvailable()) {
+            openAI = SimpleOpenAI.builder()
+                    .apiKey(openAIApiKey)
+                    .baseUrl(baseUrl)
+                    .clientAdapter(clientAdapter)
+                    // 취소된 호출(IOException)을 새 Call로 재시도하면 취소와 슬롯 반환이 무력화되므로 재시도하지 않음
+                    .retryConfig(RetryConfig.builder().maxAttempts(1).build())
+                    .build();
+        }
+
+        gate = new Semaphore(maxInFlight);
+        gateWait = Timer.builder("openai.gate.wait")
+                .description("OpenAI 동시 호출 제한에서 대기한 시간")
+                .register(meterRegistry);
+        gateRejected = Counter.builder("openai.gate.rejected")
+                .description("대기 한도 안에 호출 슬롯을 얻지 못해 거절된 요청 수")
+                .register(meterRegistry);
+        deadlineExceeded = Counter.builder("openai.deadline.exceeded")
+                .description("마감 시간 안에 응답이 없어 호출을 취소한 횟수")
+                .register(meterRegistry);
+        lateCompletions = Counter.builder("openai.completions.late")
+                .description("마감 시간이 지난 뒤 도착해 버려진 응답 수")
+                .register(meterRegistry);
+        Gauge.builder("openai.in-flight", gate, g -> maxInFlight - g.availablePermits())
+                .description("진행 중인 OpenAI 호출 수")
+                .register(meterRegistry);
+
+        log.info("OpenAI 클라이언트 초기화: 동시 호출 {}개, 연결 풀 유휴 {}개, read={}ms",
+                maxInFlight, poolMaxIdle, readTimeoutMs);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (clientAdapter != null) {
+            clientAdapter.shutdown();
+        }
+    }
+
     /**
      * 사용자 메시지에 대한 응답을 비동기적으로 생성합니다.
-     * 
+     * 호출 스레드는 호출 슬롯을 기다리는 동안(최대 acquire-timeout-ms)만 대기하고, 응답은 OkHttp 디스패처에서 완료됩니다.
+     * 반환된 Future를 취소하면 HTTP 호출도 취소됩니다.
+     *
      * @param userMessage 사용자 메시지
      * @return 생성된 응답이 포함된 CompletableFuture 또는 API가 비활성화된 경우 기본 메시지
      */
-    @Async
     public CompletableFuture<String> generateResponseAsync(String userMessage) {
-        if (!enabled || openAIApiKey == null || openAIApiKey.isEmpty()) {
+        AtomicReference<Call> call = new AtomicReference<>();
+        CompletableFuture<String> response = generate(userMessage, new AtomicBoolean(false), call);
+        response.whenComplete((text, e) -> {
+            if (response.isCancelled()) {
+                cancel(call);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * 마감 시간 안에 사용자 메시지에 대한 응답을 생성합니다.
+     * 마감 시간이 지나면 즉시 empty로 완료하고 HTTP 호출을 취소하며, 그 뒤에 도착한 응답은 openai.completions.late로 집계합니다.
+     *
+     * @param userMessage 사용자 메시지
+     * @param deadline 마감 시간
+     * @return 생성된 응답 (마감 시간 초과 시 empty)
+     */
+    public CompletableFuture<Optional<String>> generateResponseWithin(String userMessage, Duration deadline) {
+        AtomicBoolean expired = new AtomicBoolean(false);
+        AtomicReference<Call> call = new AtomicReference<>();
+        CompletableFuture<Optional<String>> result = generate(userMessage, expired, call).thenApply(Optional::ofNullable);
+
+        CompletableFuture.delayedExecutor(deadline.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.complete(Optional.empty())) {
+                expired.set(true);
+                deadlineExceeded.increment();
+                log.warn("OpenAI 응답이 {}ms 안에 오지 않아 호출 취소", deadline.toMillis());
+                cancel(call);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 사용자 메시지에 대한 응답을 스트리밍으로 생성하여, 텍스트 조각이 도착하는 대로 onToken에 전달합니다.
+     * 첫 조각이 마감 시간 안에 오지 않으면 호출을 취소하고 empty로 완료합니다.
+     * onToken이 예외를 던지면(클라이언트 연결 종료 등) 호출을 취소하고 그때까지 받은 텍스트로 완료합니다.
+     * 반환된 Future를 취소하면 호출도 취소하며, 결과가 정해진 뒤에 도착한 조각은 onToken에 전달하지 않습니다.
+     *
+     * @param userMessage 사용자 메시지
+     * @param firstTokenDeadline 첫 텍스트 조각을 기다리는 마감 시간
+     * @param onToken 텍스트 조각을 받을 콜백 (OkHttp 스레드에서 호출)
+     * @return 생성된 전체 응답 (생성하지 못했으면 empty)
+     */
+    public CompletableFuture<Optional<String>> streamResponseWithin(String userMessage, Duration firstTokenDeadline,
+                                                                    Consumer<String> onToken) {
+        if (!isAvailable()) {
             log.warn("OpenAI 서비스가 비활성화되었거나 API 키가 없습니다.");
-            return CompletableFuture.completedFuture("죄송합니다. 요청을 이해하지 못했습니다. 다른 방식으로 질문해 주시겠어요?");
+            return CompletableFuture.completedFuture(Optional.of(DISABLED_MESSAGE));
         }
-        
+
+        if (!acquireSlot()) {
+            log.warn("OpenAI 동시 호출 한도({}) 초과로 기본 응답 사용", maxInFlight);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        AtomicReference<Call> call = new AtomicReference<>();
+        long start = System.nanoTime();
+        CompletableFuture<Stream<Chat>> request;
         try {
-            log.info("OpenAI API 호출: 사용자 메시지={}", userMessage);
-            
-            SimpleOpenAI openAI = SimpleOpenAI.builder()
-                    .apiKey(openAIApiKey)
-                    .clientAdapter(new OkHttpClientAdapter())
-                    .build();
+            log.info("OpenAI API 스트리밍 호출: 사용자 메시지={}", userMessage);
+            CALL_CAPTURE.set(call::set);
+            request = openAI.chatCompletions().createStream(buildRequest(userMessage));
+        } catch (Exception e) {
+            gate.release();
+            log.error("OpenAI API 호출 중 오류 발생", e);
+            return CompletableFuture.completedFuture(Optional.empty());
+        } finally {
+            CALL_CAPTURE.remove();
+        }
 
-            ChatRequest req = ChatRequest.builder()
-                    .model(model)
-                    .message(ChatMessage.SystemMessage.of("너는 사용자의 궁금증을 해결해주는 챗봇이야. 사용자의 질문에 대해 정확하고 간결하게 답변해줘."))
-                    .message(ChatMessage.UserMessage.of(userMessage))
-                    .temperature(temperature)
-                    .maxCompletionTokens(maxTokens)
-                    .build();
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        // 첫 조각과 마감 시간 중 먼저 도착한 쪽이 차지 (조각 전달과 empty 완료가 겹치지 않도록)
+        AtomicBoolean firstTokenClaimed = new AtomicBoolean(false);
 
-            String response = openAI.chatCompletions().create(req).join().firstContent();
-            
-            log.info("OpenAI 응답 생성 완료");
-            return CompletableFuture.completedFuture(response);
-            
+        // 응답이 이미 도착했어도 호출 스레드에서 스트림 전체를 읽으며 묶이지 않도록 디스패처 풀에서 읽음
+        request.whenCompleteAsync((stream, e) -> {
+            StringBuilder text = new StringBuilder();
+            try {
+                if (e != null) {
+                    throw e;
+                }
+                try (stream) {
+                    stream.forEach(chunk -> {
+                        String token = contentOf(chunk);
+                        if (token != null && !token.isEmpty()) {
+                            if (result.isDone() || (text.length() == 0 && !firstTokenClaimed.compareAndSet(false, true))) {
+                                // 마감 시간 초과나 취소로 결과가 이미 정해졌으므로 이후 조각은 버리고 호출 중단
+                                throw new CancellationException("스트리밍 결과가 이미 완료됨");
+                            }
+                            text.append(token);
+                            onToken.accept(token);
+                        }
+                    });
+                }
+                log.info("OpenAI 스트리밍 응답 완료 ({}자)", text.length());
+                fallbackAnswerCache.put(userMessage, text.toString(), Duration.ofNanos(System.nanoTime() - start));
+            } catch (Throwable t) {
+                cancel(call);
+                if (!result.isDone()) {
+                    log.warn("OpenAI 스트리밍 중단 ({}자 수신): {}", text.length(), t.toString());
+                }
+            } finally {
+                gate.release();
+                result.complete(text.length() > 0 ? Optional.of(text.toString()) : Optional.empty());
+            }
+        }, streamReader);
+
+        CompletableFuture.delayedExecutor(firstTokenDeadline.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (firstTokenClaimed.compareAndSet(false, true) && result.complete(Optional.empty())) {
+                deadlineExceeded.increment();
+                log.warn("OpenAI 첫 응답이 {}ms 안에 오지 않아 호출 취소", firstTokenDeadline.toMillis());
+                cancel(call);
+            }
+        });
+        result.whenComplete((text, e) -> {
+            if (result.isCancelled()) {
+                cancel(call);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 응답을 생성합니다. 호출 슬롯 반환과 늦은 응답 집계는 HTTP 호출의 Future에 직접 걸어 두므로,
+     * 반환된 Future나 그 후속 단계가 취소되어도 항상 실행됩니다.
+     *
+     * @param expired 호출 측 마감 시간이 지났는지 여부
+     * @param call 취소에 사용할 OkHttp 호출을 받을 참조
+     */
+    private CompletableFuture<String> generate(String userMessage, AtomicBoolean expired, AtomicReference<Call> call) {
+        if (!isAvailable()) {
+            log.warn("OpenAI 서비스가 비활성화되었거나 API 키가 없습니다.");
+            return CompletableFuture.completedFuture(DISABLED_MESSAGE);
+        }
+
+        if (!acquireSlot()) {
+            log.warn("OpenAI 동시 호출 한도({}) 초과로 기본 응답 사용", maxInFlight);
+            return CompletableFuture.completedFuture(ERROR_MESSAGE);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Chat> request;
+        try {
+            log.info("OpenAI API 호출: 사용자 메시지={}", userMessage);
+            CALL_CAPTURE.set(call::set);
+            request = openAI.chatCompletions().create(buildRequest(userMessage));
         } catch (Exception e) {
+            gate.release();
             log.error("OpenAI API 호출 중 오류 발생", e);
-            return CompletableFuture.completedFuture("죄송합니다. 현재 응답을 생성할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+            return CompletableFuture.completedFuture(ERROR_MESSAGE);
+        } finally {
+            CALL_CAPTURE.remove();
         }
+
+        // 슬롯은 취소 여부와 관계없이 HTTP 호출이 실제로 끝났을 때 반환
+        request.whenComplete((chat, e) -> {
+            gate.release();
+            if (e != null) {
+                if (!expired.get()) {
+                    log.error("OpenAI API 호출 중 오류 발생", e);
+                }
+                return;
+            }
+            if (expired.get()) {
+                lateCompletions.increment();
+                log.info("마감 시간 이후 OpenAI 응답 도착 (버림)");
+            } else {
+                log.info("OpenAI 응답 생성 완료");
+            }
+            fallbackAnswerCache.put(userMessage, chat.firstContent(), Duration.ofNanos(System.nanoTime() - start));
+        });
+        return request.handle((chat, e) -> e != null ? ERROR_MESSAGE : chat.firstContent());
+    }
+
+    private static void cancel(AtomicReference<Call> call) {
+        Call httpCall = call.get();
+        if (httpCall != null) {
+            httpCall.cancel();
+        }
+    }
+
+    /**
+     * 스트리밍 조각의 텍스트 (사용량만 담긴 마지막 조각 등은 null)
+     */
+    private static String contentOf(Chat chunk) {
+        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()
+                || chunk.getChoices().get(0).getMessage() == null) {
+            return null;
+        }
+        return chunk.getChoices().get(0).getMessage().getContent();
+    }
+
+    private boolean isAvailable() {
+        return enabled && openAIApiKey != null && !openAIApiKey.isEmpty();
+    }
+
+    /**
+     * 호출 슬롯을 얻습니다. 대기 시간은 openai.gate.wait로 기록합니다.
+     */
+    private boolean acquireSlot() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = gate.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        gateWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            gateRejected.increment();
+        }
+        return acquired;
+    }
+
+    private ChatRequest buildRequest(String userMessage) {
+        return ChatRequest.builder()
+                .model(model)
+                .message(ChatMessage.SystemMessage.of(SYSTEM_PROMPT))
+                .message(ChatMessage.UserMessage.of(userMessage))
+                .temperature(temperature)
+                .maxCompletionTokens(maxTokens)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,239 @@
+package com.yk.chatbot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * OpenWeatherMap 비동기 HTTP 클라이언트
+ * 연결/응답 제한 시간이 있는 논블로킹 클라이언트로 호출하며, 헤징을 켜면
+ * 최근 응답 시간의 백분위(예: p95)까지 응답이 없을 때 같은 요청을 한 번 더 보내 먼저 도착한 응답을 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenWeatherClient {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${weather.http.read-timeout-ms:3000}")
+    private long readTimeoutMs;
+
+    @Value("${weather.http.pool.max-total:50}")
+    private int maxTotal;
+
+    @Value("${weather.http.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    @Value("${weather.http.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    // 응답 시간 표본이 부족할 때 사용할 헤지 지연
+    @Value("${weather.http.hedge.default-delay-ms:500}")
+    private long hedgeDefaultDelayMs;
+
+    @Value("${weather.http.hedge.min-delay-ms:50}")
+    private long hedgeMinDelayMs;
+
+    @Value("${weather.http.hedge.min-samples:20}")
+    private long hedgeMinSamples;
+
+    private PoolingAsyncClientConnectionManager connectionManager;
+    private CloseableHttpAsyncClient httpClient;
+
+    private Timer latency;
+    private Counter hedged;
+    private Counter hedgeWins;
+
+    @PostConstruct
+    public void init() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+
+        connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxTotal)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setSoTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+        httpClient.start();
+
+        latency = Timer.builder("weather.http.latency")
+                .description("OpenWeatherMap 응답 시간")
+                .publishPercentiles(hedgePercentile)
+                .register(meterRegistry);
+        hedged = Counter.builder("weather.http.hedged")
+                .description("응답 지연으로 헤지 요청을 보낸 횟수")
+                .register(meterRegistry);
+        hedgeWins = Counter.builder("weather.http.hedge.wins")
+                .description("헤지 요청이 먼저 응답한 횟수")
+                .register(meterRegistry);
+
+        log.info("OpenWeatherMap HTTP 클라이언트 초기화: connect={}ms, read={}ms, 헤징={} (p{})",
+                connectTimeoutMs, readTimeoutMs, hedgeEnabled, Math.round(hedgePercentile * 100));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (httpClient != null) {
+            httpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    /**
+     * GET 요청을 보내고 응답 본문을 반환합니다 (헤징 없음).
+     *
+     * @param url 요청 URL (쿼리 파라미터는 인코딩된 상태)
+     * @return 응답 본문 (2xx가 아니면 IOException으로 완료)
+     */
+    public CompletableFuture<byte[]> get(URI url) {
+        return send(url);
+    }
+
+    /**
+     * GET 요청을 보내고, 응답이 늦으면 헤지 요청을 한 번 더 보내 먼저 도착한 응답을 반환합니다.
+     * 반환된 Future를 취소하면 진행 중인 요청도 모두 취소됩니다.
+     *
+     * @param url 요청 URL
+     * @param hedgePermit 헤지 요청을 보내도 되는지 확인 (호출 한도 토큰 등, false면 헤지하지 않음)
+     * @return 응답 본문
+     */
+    public CompletableFuture<byte[]> getHedged(URI url, BooleanSupplier hedgePermit) {
+        CompletableFuture<byte[]> primary = send(url);
+        if (!hedgeEnabled) {
+            return primary;
+        }
+
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        // 진행 중인 요청 수 (모두 실패했을 때만 결과를 실패로 완료)
+        AtomicInteger pending = new AtomicInteger(1);
+        primary.whenComplete((body, e) -> onAttemptComplete(result, pending, body, e, false));
+        result.whenComplete((body, e) -> primary.cancel(true));
+
+        long delayMs = hedgeDelayMs();
+        CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            pending.incrementAndGet();
+            if (!hedgePermit.getAsBoolean()) {
+                onAttemptComplete(result, pending, null, new IOException("헤지 요청 한도 없음"), true);
+                return;
+            }
+            hedged.increment();
+            log.debug("날씨 API 응답이 {}ms 동안 없어 헤지 요청 전송", delayMs);
+            CompletableFuture<byte[]> hedge = send(url);
+            hedge.whenComplete((body, e) -> onAttemptComplete(result, pending, body, e, true));
+            // 먼저 끝난 쪽이 결과가 되면 남은 요청은 취소
+            result.whenComplete((body, e) -> hedge.cancel(true));
+        });
+        return result;
+    }
+
+    private void onAttemptComplete(CompletableFuture<byte[]> result, AtomicInteger pending,
+                                   byte[] body, Throwable e, boolean hedge) {
+        int remaining = pending.decrementAndGet();
+        if (e == null) {
+            if (result.complete(body) && hedge) {
+                hedgeWins.increment();
+            }
+        } else if (remaining == 0) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private long hedgeDelayMs() {
+        if (latency.count() < hedgeMinSamples) {
+            return hedgeDefaultDelayMs;
+        }
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == hedgePercentile) {
+                return Math.max(hedgeMinDelayMs, (long) value.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        return hedgeDefaultDelayMs;
+    }
+
+    private CompletableFuture<byte[]> send(URI url) {
+        CompletableFuture<byte[]> resultFuture = new CompletableFuture<>();
+        long start = System.nanoTime();
+        SimpleHttpRequest request = SimpleRequestBuilder.get(url).build();
+
+        Future<SimpleHttpResponse> httpFuture = httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (response.getCode() >= 300) {
+                    resultFuture.completeExceptionally(
+                            new IOException("날씨 API 응답 오류: status=" + response.getCode()));
+                    return;
+                }
+                resultFuture.complete(response.getBodyBytes());
+            }
+
+            @Override
+            public void failed(Exception e) {
+                resultFuture.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                resultFuture.cancel(false);
+            }
+        });
+
+        resultFuture.whenComplete((body, e) -> {
+            if (resultFuture.isCancelled()) {
+                httpFuture.cancel(true);
+            }
+        });
+        return resultFuture;
+    }
+}
@@ -1,22 +1,58 @@
 package com.yk.chatbot.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 /**
  * Rasa NLU 서버와 통신하기 위한 클라이언트 서비스
@@ -27,6 +63,7 @@ import java.util.concurrent.TimeUnit;
 public class RasaClientService {
 
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Value("${rasa.server.url}")
     private String rasaServerUrl;
@@ -34,6 +71,151 @@ public class RasaClientService {
     @Value("${rasa.server.timeout:5000}")
     private int timeout;
 
+    @Value("${rasa.server.pool.max-total:50}")
+    private int maxTotal;
+
+    @Value("${rasa.server.pool.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${rasa.server.pool.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${rasa.server.pool.idle-eviction-ms:30000}")
+    private long idleEvictionMs;
+
+    @Value("${rasa.server.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${rasa.server.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${rasa.server.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${rasa.server.circuit-breaker.slow-call-duration-ms:2000}")
+    private long slowCallDurationMs;
+
+    @Value("${rasa.server.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${rasa.server.circuit-breaker.wait-duration-in-open-state-ms:10000}")
+    private long waitDurationInOpenStateMs;
+
+    @Value("${rasa.server.circuit-breaker.permitted-calls-in-half-open-state:3}")
+    private int permittedCallsInHalfOpenState;
+
+    // 애플리케이션 수명 동안 재사용하는 커넥션 풀과 HTTP 클라이언트
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    // 비동기 요청용 커넥션 풀과 HTTP 클라이언트
+    private PoolingAsyncClientConnectionManager asyncConnectionManager;
+    private CloseableHttpAsyncClient asyncHttpClient;
+
+    // Rasa 서버 장애 시 호출을 차단하는 서킷 브레이커
+    private CircuitBreaker circuitBreaker;
+
+    /**
+     * 커넥션 풀 기반 HTTP 클라이언트를 초기화하고 풀 상태 메트릭을 등록합니다
+     */
+    @PostConstruct
+    public void init() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(timeout, TimeUnit.MILLISECONDS)
+                .setSocketTimeout(timeout, TimeUnit.MILLISECONDS)
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout, TimeUnit.MILLISECONDS)
+                .setResponseTimeout(timeout, TimeUnit.MILLISECONDS)
+                .build();
+
+        connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+
+        asyncConnectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        asyncHttpClient = HttpAsyncClients.custom()
+                .setConnectionManager(asyncConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setSoTimeout(Timeout.ofMilliseconds(timeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+        asyncHttpClient.start();
+
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(Duration.ofMillis(waitDurationInOpenStateMs))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker("rasa");
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Rasa 서킷 브레이커 상태 변경: {}", event.getStateTransition()));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        registerPoolGauges("sync", connectionManager);
+        registerPoolGauges("async", asyncConnectionManager);
+
+        log.info("Rasa HTTP 커넥션 풀 초기화: maxTotal={}, maxPerRoute={}, keepAlive={}ms, idleEviction={}ms",
+                maxTotal, maxPerRoute, keepAliveMs, idleEvictionMs);
+    }
+
+    /**
+     * 애플리케이션 종료 시 커넥션 풀을 정리합니다
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (asyncHttpClient != null) {
+            asyncHttpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    private void registerPoolGauges(String client, ConnPoolControl<?> pool) {
+        registerPoolGauge(client, pool, "leased", PoolStats::getLeased);
+        registerPoolGauge(client, pool, "available", PoolStats::getAvailable);
+        registerPoolGauge(client, pool, "pending", PoolStats::getPending);
+        registerPoolGauge(client, pool, "max", PoolStats::getMax);
+    }
+
+    private void registerPoolGauge(String client, ConnPoolControl<?> pool, String state,
+                                   ToIntFunction<PoolStats> extractor) {
+        Gauge.builder("rasa.http.pool.connections", pool,
+                        p -> extractor.applyAsInt(p.getTotalStats()))
+                .tag("client", client)
+                .tag("state", state)
+                .description("Rasa HTTP 커넥션 풀 상태")
+                .register(meterRegistry);
+    }
+
     /**
      * 메시지를 Rasa 서버로 보내 의도와 엔티티를 추출합니다
      *
@@ -41,102 +223,229 @@ public class RasaClientService {
      * @param senderId 발신자 ID (선택적)
      * @return 의도, 엔티티, 신뢰도 점수를 포함한 분석 결과
      */
-    public Map<String, Object> parseMessage(String message, String senderId) {
-        try {
-            Map<String, Object> result = new HashMap<>();
-
-            // Rasa NLU 모델 분석 요청
-            String modelEndpoint = rasaServerUrl + "/model/parse";
-            Map<String, String> requestBody = new HashMap<>();
-            requestBody.put("text", message);
-            if (senderId != null && !senderId.isEmpty()) {
-                requestBody.put("sender", senderId);
-            }
+    public RasaParseResult parseMessage(String message, String senderId) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.debug("Rasa 서킷 브레이커가 열려 있어 요청을 생략합니다: {}", message);
+            return RasaParseResult.error();
+        }
 
+        long start = System.nanoTime();
+        try {
             log.info("Rasa 서버 요청: {}", message);
-            JsonNode response = sendRequest(modelEndpoint, requestBody);
-            log.info("Rasa 응답 수신: {}", response.toString());
-
-            // 응답 파싱
-            String intent = response.has("intent") && response.get("intent").has("name")
-                    ? response.get("intent").get("name").asText()
-                    : "unknown";
-            
-            double confidence = response.has("intent") && response.get("intent").has("confidence")
-                    ? response.get("intent").get("confidence").asDouble()
-                    : 0.0;
-
-            Map<String, Object> entities = new HashMap<>();
-            if (response.has("entities") && response.get("entities").isArray()) {
-                JsonNode entitiesNode = response.get("entities");
-                log.info("엔티티 추출 시작: 총 {} 개의 엔티티 발견", entitiesNode.size());
-                
-                for (JsonNode entity : entitiesNode) {
-                    if (entity.has("entity") && entity.has("value")) {
-                        String entityName = entity.get("entity").asText();
-                        String entityValue = entity.get("value").asText();
-                        
-                        // 엔티티 값이 비어있지 않은 경우만 처리
-                        if (entityValue != null && !entityValue.trim().isEmpty()) {
-                            entities.put(entityName, entityValue);
-                            log.info("엔티티 추출: {}={}", entityName, entityValue);
-                        } else {
-                            log.warn("빈 엔티티 값 발견: {}", entityName);
+            HttpPost httpPost = new HttpPost(parseEndpoint());
+            httpPost.setEntity(new StringEntity(createRequestBody(message, senderId), ContentType.APPLICATION_JSON));
+
+            RasaParseResult result = httpClient.execute(httpPost, response -> {
+                if (response.getCode() >= 300) {
+                    throw new IOException("Rasa 서버 응답 오류: status=" + response.getCode());
+                }
+                try (InputStream content = response.getEntity().getContent()) {
+                    return decode(objectMapper.getFactory().createParser(content));
+                }
+            });
+
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logResult(result);
+            return result;
+        } catch (Exception e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            log.error("Rasa 서버 통신 중 오류 발생", e);
+            return RasaParseResult.error();
+        }
+    }
+
+    /**
+     * 메시지를 Rasa 서버로 비동기 전송하여 의도와 엔티티를 추출합니다
+     * 응답을 기다리는 동안 호출 스레드를 점유하지 않으며, 반환된 Future를 취소하면 HTTP 요청도 취소됩니다.
+     *
+     * @param message 사용자 메시지
+     * @param senderId 발신자 ID (선택적)
+     * @return 분석 결과를 담은 CompletableFuture (통신 실패 시 오류 결과)
+     */
+    public CompletableFuture<RasaParseResult> parseMessageAsync(String message, String senderId) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.debug("Rasa 서킷 브레이커가 열려 있어 요청을 생략합니다: {}", message);
+            return CompletableFuture.completedFuture(RasaParseResult.error());
+        }
+
+        CompletableFuture<RasaParseResult> resultFuture = new CompletableFuture<>();
+        long start = System.nanoTime();
+        try {
+            log.info("Rasa 서버 비동기 요청: {}", message);
+            SimpleHttpRequest request = SimpleRequestBuilder.post(parseEndpoint())
+                    .setBody(createRequestBody(message, senderId), ContentType.APPLICATION_JSON)
+                    .build();
+
+            Future<SimpleHttpResponse> httpFuture = asyncHttpClient.execute(request, new FutureCallback<>() {
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    try {
+                        if (response.getCode() >= 300) {
+                            throw new IOException("Rasa 서버 응답 오류: status=" + response.getCode());
                         }
-                    } else {
-                        log.warn("유효하지 않은 엔티티 형식: {}", entity);
+                        RasaParseResult result = decode(objectMapper.getFactory().createParser(response.getBodyBytes()));
+                        circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        logResult(result);
+                        resultFuture.complete(result);
+                    } catch (Exception e) {
+                        failed(e);
                     }
                 }
-            } else {
-                log.warn("엔티티 필드가 없거나 배열이 아님: {}", response);
-            }
 
-            result.put("intent", intent);
-            result.put("confidence", confidence);
-            result.put("entities", entities);
-            result.put("rawResponse", response);
+                @Override
+                public void failed(Exception e) {
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                    log.error("Rasa 서버 비동기 통신 중 오류 발생", e);
+                    resultFuture.complete(RasaParseResult.error());
+                }
 
-            // 최종 결과 로깅
-            log.info("분석 결과: intent={}, confidence={}, entities={}", 
-                     intent, confidence, entities);
+                @Override
+                public void cancelled() {
+                    resultFuture.cancel(false);
+                }
+            });
 
-            return result;
+            // 호출 측에서 취소하면 진행 중인 HTTP 요청도 함께 취소 (서킷 브레이커 집계에서는 제외)
+            resultFuture.whenComplete((result, e) -> {
+                if (resultFuture.isCancelled()) {
+                    httpFuture.cancel(true);
+                    circuitBreaker.releasePermission();
+                }
+            });
         } catch (Exception e) {
-            log.error("Rasa 서버 통신 중 오류 발생", e);
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("intent", "error");
-            errorResult.put("confidence", 0.0);
-            errorResult.put("entities", new HashMap<>());
-            errorResult.put("error", e.getMessage());
-            return errorResult;
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            log.error("Rasa 서버 비동기 요청 생성 중 오류 발생", e);
+            resultFuture.complete(RasaParseResult.error());
         }
+        return resultFuture;
     }
 
     /**
-     * HTTP 요청을 Rasa 서버로 전송합니다
+     * Rasa 서버 호출이 가능한 상태인지 확인합니다
+     * 서킷 브레이커가 열려 있으면 false를 반환하며, 이 동안 호출 측은 Rasa 없이 처리해야 합니다.
+     *
+     * @return 서킷이 닫혀 있거나 반열림(시험 호출) 상태이면 true
      */
-    private JsonNode sendRequest(String url, Object body) throws IOException {
-        try (CloseableHttpClient httpClient = createHttpClient()) {
-            HttpPost httpPost = new HttpPost(url);
-            httpPost.setEntity(new StringEntity(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON));
+    public boolean isAvailable() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
 
-            return httpClient.execute(httpPost, response -> {
-                return objectMapper.readTree(response.getEntity().getContent());
+    /**
+     * Rasa 서버에 현재 로드된 모델의 식별자를 조회합니다 (/status)
+     * 모델이 교체되면 값이 달라지므로 분석 결과 캐시를 비우는 기준으로 사용합니다.
+     * 서킷 브레이커와 무관하게 호출하며, 실패는 집계하지 않습니다.
+     *
+     * @return 모델 식별자 (model_id, 없으면 model_file). 조회에 실패하면 빈 값
+     */
+    public Optional<String> fetchModelVersion() {
+        try {
+            return httpClient.execute(new HttpGet(rasaServerUrl + "/status"), response -> {
+                if (response.getCode() >= 300) {
+                    throw new IOException("Rasa 서버 응답 오류: status=" + response.getCode());
+                }
+                try (InputStream content = response.getEntity().getContent()) {
+                    JsonNode status = objectMapper.readTree(content);
+                    String version = status.path("model_id").asText(status.path("model_file").asText(""));
+                    return version.isEmpty() ? Optional.<String>empty() : Optional.of(version);
+                }
             });
+        } catch (Exception e) {
+            log.debug("Rasa 모델 상태 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String parseEndpoint() {
+        return rasaServerUrl + "/model/parse";
+    }
+
+    private String createRequestBody(String message, String senderId) throws IOException {
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("text", message);
+        if (senderId != null && !senderId.isEmpty()) {
+            requestBody.put("sender", senderId);
         }
+        return objectMapper.writeValueAsString(requestBody);
     }
 
     /**
-     * HTTP 클라이언트를 생성합니다
+     * Rasa 응답을 스트리밍 파서로 읽어 필요한 필드만 추출합니다
+     * 응답 전체를 JsonNode 트리로 만들지 않고 intent, entities 외의 필드는 건너뜁니다.
      */
-    private CloseableHttpClient createHttpClient() {
-        RequestConfig requestConfig = RequestConfig.custom()
-                .setConnectTimeout(timeout, TimeUnit.MILLISECONDS)
-                .setResponseTimeout(timeout, TimeUnit.MILLISECONDS)
-                .build();
+    static RasaParseResult decode(JsonParser parser) throws IOException {
+        try (parser) {
+            String intent = "unknown";
+            double confidence = 0.0;
+            List<RasaParseResult.Entity> entities = new ArrayList<>();
 
-        return HttpClients.custom()
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Rasa 응답이 JSON 객체가 아닙니다");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+
+                if ("intent".equals(field) && valueToken == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String intentField = parser.currentName();
+                        parser.nextToken();
+                        if ("name".equals(intentField)) {
+                            intent = parser.getValueAsString(intent);
+                        } else if ("confidence".equals(intentField)) {
+                            confidence = parser.getValueAsDouble(0.0);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else if ("entities".equals(field) && valueToken == JsonToken.START_ARRAY) {
+                    // 배열 끝까지 읽어야 뒤따르는 필드를 놓치지 않음 (객체가 아닌 원소는 건너뜀)
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                        if (element == JsonToken.START_OBJECT) {
+                            decodeEntity(parser, entities);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return new RasaParseResult(intent, confidence, entities);
+        }
+    }
+
+    private static void decodeEntity(JsonParser parser, List<RasaParseResult.Entity> entities) throws IOException {
+        String entityName = null;
+        String entityValue = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if ("entity".equals(field)) {
+                entityName = parser.getValueAsString();
+            } else if ("value".equals(field) && valueToken.isScalarValue()) {
+                entityValue = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        // 엔티티 값이 비어있지 않은 경우만 처리
+        if (entityName == null) {
+            log.warn("유효하지 않은 엔티티 형식: value={}", entityValue);
+        } else if (entityValue == null || entityValue.trim().isEmpty()) {
+            log.warn("빈 엔티티 값 발견: {}", entityName);
+        } else {
+            entities.add(new RasaParseResult.Entity(entityName, entityValue));
+        }
+    }
+
+    private void logResult(RasaParseResult result) {
+        log.info("분석 결과: intent={}, confidence={}, entities={}",
+                result.intent(), result.confidence(), result.entities());
     }
 }
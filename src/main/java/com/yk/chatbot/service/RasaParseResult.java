@@ -0,0 +1,41 @@
+package com.yk.chatbot.service;
+
+import java.util.List;
+
+/**
+ * Rasa NLU 파싱 결과
+ * 응답 JSON 중 챗봇에서 사용하는 의도, 신뢰도, 엔티티만 보관합니다.
+ *
+ * @param intent 분석된 의도 (응답에 없으면 "unknown")
+ * @param confidence 의도 신뢰도 점수 (0.0 ~ 1.0)
+ * @param entities 추출된 엔티티 목록 (같은 이름의 엔티티가 여러 개일 수 있음)
+ */
+public record RasaParseResult(String intent, double confidence, List<Entity> entities) {
+
+    /**
+     * Rasa 엔티티
+     *
+     * @param name 엔티티 이름 (예: location)
+     * @param value 엔티티 값 (예: 서울)
+     */
+    public record Entity(String name, String value) {
+    }
+
+    public RasaParseResult {
+        entities = entities == null ? List.of() : List.copyOf(entities);
+    }
+
+    /**
+     * 통신 실패 시 사용하는 오류 결과를 생성합니다
+     */
+    public static RasaParseResult error() {
+        return new RasaParseResult("error", 0.0, List.of());
+    }
+
+    /**
+     * 오류 결과인지 확인
+     */
+    public boolean isError() {
+        return "error".equals(intent);
+    }
+}
@@ -0,0 +1,194 @@
+package com.yk.chatbot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yk.chatbot.support.CountMinSketch;
+import com.yk.chatbot.support.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 격자 좌표 기반 날씨 정보 캐시
+ * TTL 동안은 캐시된 응답을 그대로 사용하고, TTL이 지난 뒤 stale-while-revalidate 구간에서는
+ * 기존 응답을 즉시 반환하면서 백그라운드에서 갱신합니다. 크기 제한을 넘으면 오래 쓰이지 않은 항목부터 제거됩니다.
+ * 캐시에 없는 격자 칸을 동시에 요청하면 처음 요청만 API를 호출하고 나머지는 그 결과를 기다립니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WeatherCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier("weatherExecutor")
+    private final Executor weatherExecutor;
+
+    @Value("${weather.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${weather.cache.stale-while-revalidate-seconds:120}")
+    private long staleWhileRevalidateSeconds;
+
+    @Value("${weather.cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${weather.cache.grid-degrees:0.2}")
+    private double gridDegrees;
+
+    @Value("${weather.cache.last-known-hours:6}")
+    private long lastKnownHours;
+
+    private Cache<GridKey, WeatherSnapshot> cache;
+
+    // 만료된 뒤에도 호출 한도 초과 시 대신 제공할 마지막 값
+    private Cache<GridKey, WeatherSnapshot> lastKnown;
+
+    // 백그라운드 갱신 중인 키 (같은 키를 중복 갱신하지 않도록)
+    private final Set<GridKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    private Counter staleHits;
+
+    private SingleFlight<GridKey, WeatherSnapshot> singleFlight;
+
+    // 격자 칸별 요청 빈도 (미리 갱신할 인기 지역 선정용)
+    private CountMinSketch frequency;
+
+    @PostConstruct
+    public void init() {
+        // 만료 시각은 TTL + stale 구간 (그 사이에는 오래된 값을 주면서 갱신)
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds + staleWhileRevalidateSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "weather");
+        lastKnown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofHours(lastKnownHours))
+                .build();
+        staleHits = Counter.builder("weather.cache.stale")
+                .description("TTL이 지난 값을 반환하고 백그라운드 갱신한 횟수")
+                .register(meterRegistry);
+        singleFlight = new SingleFlight<>("weather", meterRegistry);
+        frequency = new CountMinSketch((int) Math.min(maxSize, Integer.MAX_VALUE / 4), maxSize * 10);
+
+        log.info("날씨 캐시 초기화: ttl={}s, staleWhileRevalidate={}s, maxSize={}, grid={}°",
+                ttlSeconds, staleWhileRevalidateSeconds, maxSize, gridDegrees);
+    }
+
+    /**
+     * 좌표를 캐시 격자 키로 변환합니다.
+     */
+    public GridKey keyFor(double latitude, double longitude) {
+        return GridKey.of(latitude, longitude, gridDegrees);
+    }
+
+    /**
+     * 캐시된 날씨 정보를 반환하고, 없으면 loader로 가져와 저장합니다.
+     *
+     * @param key 격자 키
+     * @param loader 날씨 API 호출 함수 (실패 시 예외를 던지며, 실패한 응답은 캐시하지 않음)
+     * @return 날씨 정보
+     */
+    public WeatherSnapshot get(GridKey key, Supplier<WeatherSnapshot> loader) {
+        frequency.increment(key);
+        WeatherSnapshot snapshot = cache.getIfPresent(key);
+        if (snapshot != null) {
+            if (Duration.between(snapshot.fetchedAt(), Instant.now()).getSeconds() >= ttlSeconds) {
+                staleHits.increment();
+                refreshInBackground(key, loader);
+            }
+            return snapshot;
+        }
+
+        // 같은 격자 칸의 동시 미스는 한 번의 업스트림 호출로 합침
+        return singleFlight.execute(key, () -> {
+            WeatherSnapshot loaded = cache.getIfPresent(key);
+            if (loaded == null) {
+                loaded = loader.get();
+                store(key, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * 격자 칸의 마지막으로 알려진 날씨 정보를 반환합니다 (TTL이 지났어도 보관 기간 안이면 반환).
+     */
+    public Optional<WeatherSnapshot> lastKnown(GridKey key) {
+        return Optional.ofNullable(lastKnown.getIfPresent(key));
+    }
+
+    /**
+     * 곧 만료될 항목 중 요청 빈도가 높은 격자 칸을 빈도순으로 반환합니다.
+     *
+     * @param topN 최대 개수
+     * @param leadSeconds TTL 만료 몇 초 전부터 갱신 대상으로 볼지
+     * @return 미리 갱신할 격자 키 목록 (빈도 내림차순)
+     */
+    public List<GridKey> refreshAheadCandidates(int topN, long leadSeconds) {
+        Instant threshold = Instant.now().minusSeconds(Math.max(0, ttlSeconds - leadSeconds));
+        return cache.asMap().entrySet().stream()
+                .filter(entry -> !entry.getValue().fetchedAt().isAfter(threshold))
+                .filter(entry -> !refreshing.contains(entry.getKey()))
+                .map(Map.Entry::getKey)
+                .sorted(Comparator.comparingInt((GridKey key) -> frequency.estimate(key)).reversed())
+                .limit(topN)
+                .collect(Collectors.toList());
+    }
+
+    private void store(GridKey key, WeatherSnapshot snapshot) {
+        cache.put(key, snapshot);
+        lastKnown.put(key, snapshot);
+    }
+
+    /**
+     * 격자 칸의 항목을 날씨 조회 풀에서 갱신하도록 예약합니다. 이미 갱신 중이면 건너뜁니다.
+     * 호출 스레드(스케줄러 등)는 업스트림 응답을 기다리지 않습니다.
+     *
+     * @return 갱신을 예약했으면 true (이미 갱신 중이거나 풀이 가득 차 거절되면 false)
+     */
+    public boolean refreshInBackground(GridKey key, Supplier<WeatherSnapshot> loader) {
+        if (!refreshing.add(key)) {
+            return false;
+        }
+        try {
+            weatherExecutor.execute(() -> {
+                try {
+                    store(key, loader.get());
+                    log.debug("날씨 캐시 백그라운드 갱신 완료: {}", key);
+                } catch (Exception e) {
+                    log.warn("날씨 캐시 백그라운드 갱신 실패: {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 다음 요청이나 다음 갱신 주기에 다시 시도
+            refreshing.remove(key);
+            log.debug("날씨 조회 풀 포화로 백그라운드 갱신 건너뜀: {}", key);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.yk.chatbot.service;
+
+/**
+ * OpenWeatherMap 호출 한도를 넘어 API를 호출하지 않았을 때 발생하는 예외
+ */
+public class WeatherQuotaExceededException extends RuntimeException {
+
+    public WeatherQuotaExceededException(String call) {
+        super("날씨 API 호출 한도 초과: " + call);
+    }
+}
@@ -2,16 +2,31 @@ package com.yk.chatbot.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yk.chatbot.location.LocationGazetteer;
+import com.yk.chatbot.support.TokenBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.net.URIBuilder;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 날씨 정보를 제공하는 서비스
@@ -21,8 +36,11 @@ import java.util.Map;
 @Service
 public class WeatherService {
 
-    private final RestTemplate restTemplate;
+    private final OpenWeatherClient openWeatherClient;
     private final ObjectMapper objectMapper;
+    private final WeatherCache weatherCache;
+    private final GeocodeCache geocodeCache;
+    private final MeterRegistry meterRegistry;
     
     @Value("${weather.api.key}")
     private String apiKey;
@@ -30,10 +48,69 @@ public class WeatherService {
     @Value("${weather.api.url}")
     private String apiUrl;
     
+    @Value("${weather.api.geocode-url:https://api.openweathermap.org/geo/1.0/direct}")
+    private String geocodeUrl;
+    
+    // 헤지 요청까지 포함한 전체 대기 한도
+    @Value("${weather.http.total-timeout-ms:5000}")
+    private long totalTimeoutMs;
+    
     @Value("${weather.api.demo-mode:false}")
     private boolean demoMode;
     
-    private final Map<String, String> cityCoordinates = new HashMap<>();
+    @Value("${weather.nearest-city.max-distance-km:50}")
+    private double nearestCityMaxDistanceKm;
+    
+    @Value("${weather.refresh-ahead.enabled:true}")
+    private boolean refreshAheadEnabled;
+    
+    @Value("${weather.refresh-ahead.top-n:20}")
+    private int refreshAheadTopN;
+    
+    @Value("${weather.refresh-ahead.lead-seconds:60}")
+    private long refreshAheadLeadSeconds;
+    
+    @Value("${weather.refresh-ahead.budget-per-minute:30}")
+    private int refreshAheadBudgetPerMinute;
+    
+    @Value("${weather.quota.calls-per-minute:60}")
+    private int quotaCallsPerMinute;
+    
+    @Value("${weather.quota.burst:10}")
+    private int quotaBurst;
+    
+    // 날씨/Geocoding API 호출 한도 (모든 업스트림 호출이 공유)
+    private TokenBucket quota;
+    
+    // 미리 갱신 작업의 분당 호출 예산 (스케줄러 스레드에서만 접근)
+    private long refreshBudgetWindowStart;
+    private int refreshBudgetUsed;
+    
+    // 미리 정의된 도시 좌표 (생성자에서만 채우고 이후에는 읽기만 함, Geocoding 결과는 GeocodeCache에 저장)
+    private final Map<String, LocationGazetteer.Place> cityCoordinates = new HashMap<>();
+    
+    // 도시 좌표 테이블로부터 만든 지명 사전 (분석기, 해결기와 공유)
+    private final LocationGazetteer gazetteer;
+    
+    // 좌표 테이블에는 없지만 지명으로 인식할 지역 (좌표는 Geocoding API로 조회)
+    private static final String[] UNMAPPED_LOCATION_NAMES = {
+        "화성", "군포", "오산", "이천", "안성", "구리", "여주", "양주", "동두천", "과천", "의왕", "포천", "양평",
+        "정선", "홍천", "횡성", "영월", "임실", "순창", "고창", "부안", "고흥", "장흥", "강진", "함평", "영광",
+        "장성", "완도", "진도", "신안", "영덕", "울진", "예천", "영양", "봉화", "울릉", "의성", "청송", "청도",
+        "고령", "성주", "칠곡", "군위", "의령", "창녕", "고성", "함양"
+    };
+    
+    // 도 단위 지명 -> 도청 소재지(좌표 테이블에 없으면 대표 도시)
+    private static final Map<String, String> PROVINCE_ALIASES = Map.ofEntries(
+        Map.entry("경기", "수원"), Map.entry("경기도", "수원"),
+        Map.entry("강원", "춘천"), Map.entry("강원도", "춘천"),
+        Map.entry("충북", "청주"), Map.entry("충청북도", "청주"),
+        Map.entry("충남", "천안"), Map.entry("충청남도", "천안"),
+        Map.entry("전북", "전주"), Map.entry("전라북도", "전주"),
+        Map.entry("전남", "무안"), Map.entry("전라남도", "무안"),
+        Map.entry("경북", "안동"), Map.entry("경상북도", "안동"),
+        Map.entry("경남", "창원"), Map.entry("경상남도", "창원")
+    );
     
     // 한국어 날씨 상태 매핑 (OpenWeatherMap API의 영어 날씨 상태를 한국어로 변환)
     private static final Map<String, String> WEATHER_CODE_TO_KOREAN = new HashMap<>();
@@ -105,178 +182,207 @@ public class WeatherService {
     /**
      * 생성자
      */
-    public WeatherService(RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper) {
-        this.restTemplate = restTemplateBuilder.build();
+    public WeatherService(OpenWeatherClient openWeatherClient, ObjectMapper objectMapper,
+                          WeatherCache weatherCache, GeocodeCache geocodeCache, MeterRegistry meterRegistry) {
+        this.openWeatherClient = openWeatherClient;
         this.objectMapper = objectMapper;
+        this.weatherCache = weatherCache;
+        this.geocodeCache = geocodeCache;
+        this.meterRegistry = meterRegistry;
         
         // 한국 특별시/광역시 (위도, 경도)
-        cityCoordinates.put("서울", "37.5665,126.9780");
-        cityCoordinates.put("부산", "35.1796,129.0756");
-        cityCoordinates.put("인천", "37.4563,126.7052");
-        cityCoordinates.put("대구", "35.8714,128.6014");
-        cityCoordinates.put("대전", "36.3504,127.3845");
-        cityCoordinates.put("광주", "35.1595,126.8526");
-        cityCoordinates.put("울산", "35.5384,129.3114");
-        cityCoordinates.put("세종", "36.4800,127.2890");
+        addCity("서울", 37.5665, 126.9780);
+        addCity("부산", 35.1796, 129.0756);
+        addCity("인천", 37.4563, 126.7052);
+        addCity("대구", 35.8714, 128.6014);
+        addCity("대전", 36.3504, 127.3845);
+        addCity("광주", 35.1595, 126.8526);
+        addCity("울산", 35.5384, 129.3114);
+        addCity("세종", 36.4800, 127.2890);
         
         // 제주 관련 지역 (관광지 포함)
-        cityCoordinates.put("제주", "33.4996,126.5312");
-        cityCoordinates.put("제주도", "33.4996,126.5312");
-        cityCoordinates.put("서귀포", "33.2539,126.5602");
-        cityCoordinates.put("한라산", "33.3617,126.5292");
-        cityCoordinates.put("성산일출봉", "33.4587,126.9425");
-        cityCoordinates.put("우도", "33.5219,126.9571");
-        cityCoordinates.put("중문", "33.2444,126.4125");
+        addCity("제주", 33.4996, 126.5312);
+        addCity("제주도", 33.4996, 126.5312);
+        addCity("서귀포", 33.2539, 126.5602);
+        addCity("한라산", 33.3617, 126.5292);
+        addCity("성산일출봉", 33.4587, 126.9425);
+        addCity("우도", 33.5219, 126.9571);
+        addCity("중문", 33.2444, 126.4125);
         
         // 경기도 주요 도시
-        cityCoordinates.put("수원", "37.2636,127.0286");
-        cityCoordinates.put("성남", "37.4449,127.1388");
-        cityCoordinates.put("안양", "37.3941,126.9570");
-        cityCoordinates.put("고양", "37.6559,126.8351");
-        cityCoordinates.put("용인", "37.2344,127.2011");
-        cityCoordinates.put("부천", "37.5035,126.7664");
-        cityCoordinates.put("안산", "37.3219,126.8309");
-        cityCoordinates.put("남양주", "37.6360,127.2165");
-        cityCoordinates.put("의정부", "37.7380,127.0337");
-        cityCoordinates.put("평택", "36.9920,127.0887");
-        cityCoordinates.put("시흥", "37.3798,126.8032");
-        cityCoordinates.put("파주", "37.7599,126.7799");
-        cityCoordinates.put("김포", "37.6151,126.7150");
-        cityCoordinates.put("광명", "37.4791,126.8646");
-        cityCoordinates.put("광주시", "37.4132,127.2547"); // 경기도 광주시
-        cityCoordinates.put("하남", "37.5398,127.2054");
+        addCity("수원", 37.2636, 127.0286);
+        addCity("성남", 37.4449, 127.1388);
+        addCity("안양", 37.3941, 126.9570);
+        addCity("고양", 37.6559, 126.8351);
+        addCity("용인", 37.2344, 127.2011);
+        addCity("부천", 37.5035, 126.7664);
+        addCity("안산", 37.3219, 126.8309);
+        addCity("남양주", 37.6360, 127.2165);
+        addCity("의정부", 37.7380, 127.0337);
+        addCity("평택", 36.9920, 127.0887);
+        addCity("시흥", 37.3798, 126.8032);
+        addCity("파주", 37.7599, 126.7799);
+        addCity("김포", 37.6151, 126.7150);
+        addCity("광명", 37.4791, 126.8646);
+        addCity("광주시", 37.4132, 127.2547); // 경기도 광주시
+        addCity("하남", 37.5398, 127.2054);
         
         // 강원도 주요 도시 및 관광지
-        cityCoordinates.put("춘천", "37.8813,127.7300");
-        cityCoordinates.put("원주", "37.3422,127.9201");
-        cityCoordinates.put("강릉", "37.7556,128.8961");
-        cityCoordinates.put("동해", "37.5248,129.1142");
-        cityCoordinates.put("속초", "38.2071,128.5918");
-        cityCoordinates.put("삼척", "37.4498,129.1674");
-        cityCoordinates.put("태백", "37.1665,128.9886");
-        cityCoordinates.put("설악산", "38.1193,128.4657");
-        cityCoordinates.put("양양", "38.0754,128.6189");
-        cityCoordinates.put("평창", "37.3706,128.3903");
+        addCity("춘천", 37.8813, 127.7300);
+        addCity("원주", 37.3422, 127.9201);
+        addCity("강릉", 37.7556, 128.8961);
+        addCity("동해", 37.5248, 129.1142);
+        addCity("속초", 38.2071, 128.5918);
+        addCity("삼척", 37.4498, 129.1674);
+        addCity("태백", 37.1665, 128.9886);
+        addCity("설악산", 38.1193, 128.4657);
+        addCity("양양", 38.0754, 128.6189);
+        addCity("평창", 37.3706, 128.3903);
         
         // 충청북도 주요 도시
-        cityCoordinates.put("청주", "36.6424,127.4890");
-        cityCoordinates.put("충주", "36.9912,127.9260");
-        cityCoordinates.put("제천", "37.1324,128.1910");
-        cityCoordinates.put("음성", "36.9400,127.6903");
-        cityCoordinates.put("진천", "36.8556,127.4354");
-        cityCoordinates.put("증평", "36.7850,127.5814");
+        addCity("청주", 36.6424, 127.4890);
+        addCity("충주", 36.9912, 127.9260);
+        addCity("제천", 37.1324, 128.1910);
+        addCity("음성", 36.9400, 127.6903);
+        addCity("진천", 36.8556, 127.4354);
+        addCity("증평", 36.7850, 127.5814);
         
         // 충청남도 주요 도시
-        cityCoordinates.put("천안", "36.8151,127.1135");
-        cityCoordinates.put("공주", "36.5633,127.2544");
-        cityCoordinates.put("보령", "36.3494,126.6032");
-        cityCoordinates.put("아산", "36.7897,127.0019");
-        cityCoordinates.put("서산", "36.7850,126.4503");
-        cityCoordinates.put("논산", "36.1893,127.1000");
-        cityCoordinates.put("계룡", "36.2741,127.2506");
-        cityCoordinates.put("당진", "36.8899,126.6461");
-        cityCoordinates.put("태안", "36.7456,126.2980");
+        addCity("천안", 36.8151, 127.1135);
+        addCity("공주", 36.5633, 127.2544);
+        addCity("보령", 36.3494, 126.6032);
+        addCity("아산", 36.7897, 127.0019);
+        addCity("서산", 36.7850, 126.4503);
+        addCity("논산", 36.1893, 127.1000);
+        addCity("계룡", 36.2741, 127.2506);
+        addCity("당진", 36.8899, 126.6461);
+        addCity("태안", 36.7456, 126.2980);
         
         // 전라북도 주요 도시 및 관광지
-        cityCoordinates.put("전주", "35.8242,127.1480");
-        cityCoordinates.put("군산", "35.9676,126.7366");
-        cityCoordinates.put("익산", "35.9483,126.9577");
-        cityCoordinates.put("정읍", "35.5700,126.8561");
-        cityCoordinates.put("남원", "35.4164,127.3905");
-        cityCoordinates.put("김제", "35.8033,126.8809");
-        cityCoordinates.put("완주", "35.8441,127.1550");
-        cityCoordinates.put("진안", "35.7913,127.4253");
-        cityCoordinates.put("무주", "36.0068,127.6611");
-        cityCoordinates.put("장수", "35.6471,127.5212");
+        addCity("전주", 35.8242, 127.1480);
+        addCity("군산", 35.9676, 126.7366);
+        addCity("익산", 35.9483, 126.9577);
+        addCity("정읍", 35.5700, 126.8561);
+        addCity("남원", 35.4164, 127.3905);
+        addCity("김제", 35.8033, 126.8809);
+        addCity("완주", 35.8441, 127.1550);
+        addCity("진안", 35.7913, 127.4253);
+        addCity("무주", 36.0068, 127.6611);
+        addCity("장수", 35.6471, 127.5212);
         
         // 전라남도 주요 도시 및 관광지
-        cityCoordinates.put("목포", "34.8118,126.3922");
-        cityCoordinates.put("여수", "34.7604,127.6622");
-        cityCoordinates.put("순천", "34.9506,127.4875");
-        cityCoordinates.put("나주", "35.0158,126.7103");
-        cityCoordinates.put("광양", "34.9400,127.6958");
-        cityCoordinates.put("담양", "35.3220,126.9882");
-        cityCoordinates.put("곡성", "35.2821,127.2923");
-        cityCoordinates.put("구례", "35.2022,127.4628");
-        cityCoordinates.put("보성", "34.7717,127.0799");
-        cityCoordinates.put("화순", "35.0646,126.9857");
-        cityCoordinates.put("해남", "34.5733,126.5989");
-        cityCoordinates.put("영암", "34.8001,126.6968");
-        cityCoordinates.put("무안", "34.9904,126.4816");
+        addCity("목포", 34.8118, 126.3922);
+        addCity("여수", 34.7604, 127.6622);
+        addCity("순천", 34.9506, 127.4875);
+        addCity("나주", 35.0158, 126.7103);
+        addCity("광양", 34.9400, 127.6958);
+        addCity("담양", 35.3220, 126.9882);
+        addCity("곡성", 35.2821, 127.2923);
+        addCity("구례", 35.2022, 127.4628);
+        addCity("보성", 34.7717, 127.0799);
+        addCity("화순", 35.0646, 126.9857);
+        addCity("해남", 34.5733, 126.5989);
+        addCity("영암", 34.8001, 126.6968);
+        addCity("무안", 34.9904, 126.4816);
         
         // 경상북도 주요 도시 및 관광지
-        cityCoordinates.put("포항", "36.0199,129.3415");
-        cityCoordinates.put("경주", "35.8562,129.2246");
-        cityCoordinates.put("김천", "36.1398,128.1135");
-        cityCoordinates.put("안동", "36.5684,128.7294");
-        cityCoordinates.put("구미", "36.1195,128.3444");
-        cityCoordinates.put("영주", "36.8055,128.6240");
-        cityCoordinates.put("영천", "35.9733,128.9388");
-        cityCoordinates.put("상주", "36.4108,128.1592");
-        cityCoordinates.put("문경", "36.5869,128.1873");
-        cityCoordinates.put("경산", "35.8250,128.7415");
+        addCity("포항", 36.0199, 129.3415);
+        addCity("경주", 35.8562, 129.2246);
+        addCity("김천", 36.1398, 128.1135);
+        addCity("안동", 36.5684, 128.7294);
+        addCity("구미", 36.1195, 128.3444);
+        addCity("영주", 36.8055, 128.6240);
+        addCity("영천", 35.9733, 128.9388);
+        addCity("상주", 36.4108, 128.1592);
+        addCity("문경", 36.5869, 128.1873);
+        addCity("경산", 35.8250, 128.7415);
         
         // 경상남도 주요 도시 및 관광지
-        cityCoordinates.put("창원", "35.2540,128.6395");
-        cityCoordinates.put("진주", "35.1800,128.1108");
-        cityCoordinates.put("통영", "34.8544,128.4332");
-        cityCoordinates.put("사천", "35.0038,128.0641");
-        cityCoordinates.put("김해", "35.2282,128.8812");
-        cityCoordinates.put("밀양", "35.5042,128.7464");
-        cityCoordinates.put("거제", "34.8806,128.6211");
-        cityCoordinates.put("양산", "35.3350,129.0378");
-        cityCoordinates.put("남해", "34.8376,127.8924");
-        cityCoordinates.put("거창", "35.6868,127.9093");
-        cityCoordinates.put("함안", "35.2723,128.4064");
-        cityCoordinates.put("합천", "35.5671,128.1673");
-        cityCoordinates.put("산청", "35.4156,127.8738");
-        cityCoordinates.put("하동", "35.0674,127.7513");
+        addCity("창원", 35.2540, 128.6395);
+        addCity("진주", 35.1800, 128.1108);
+        addCity("통영", 34.8544, 128.4332);
+        addCity("사천", 35.0038, 128.0641);
+        addCity("김해", 35.2282, 128.8812);
+        addCity("밀양", 35.5042, 128.7464);
+        addCity("거제", 34.8806, 128.6211);
+        addCity("양산", 35.3350, 129.0378);
+        addCity("남해", 34.8376, 127.8924);
+        addCity("거창", 35.6868, 127.9093);
+        addCity("함안", 35.2723, 128.4064);
+        addCity("합천", 35.5671, 128.1673);
+        addCity("산청", 35.4156, 127.8738);
+        addCity("하동", 35.0674, 127.7513);
         
         // 서울 주요 지역
-        cityCoordinates.put("강남", "37.5172,127.0473");
-        cityCoordinates.put("강북", "37.6396,127.0257");
-        cityCoordinates.put("강서", "37.5509,126.8495");
-        cityCoordinates.put("관악", "37.4784,126.9516");
-        cityCoordinates.put("광진", "37.5384,127.0822");
-        cityCoordinates.put("구로", "37.4954,126.8874");
-        cityCoordinates.put("금천", "37.4566,126.8972");
-        cityCoordinates.put("노원", "37.6543,127.0567");
-        cityCoordinates.put("도봉", "37.6688,127.0470");
-        cityCoordinates.put("동대문", "37.5741,127.0399");
-        cityCoordinates.put("마포", "37.5637,126.9086");
-        cityCoordinates.put("서대문", "37.5791,126.9368");
-        cityCoordinates.put("송파", "37.5145,127.1060");
-        cityCoordinates.put("종로", "37.5720,126.9793");
-        cityCoordinates.put("중구", "37.5636,126.9975");
+        addCity("강남", 37.5172, 127.0473);
+        addCity("강북", 37.6396, 127.0257);
+        addCity("강서", 37.5509, 126.8495);
+        addCity("관악", 37.4784, 126.9516);
+        addCity("광진", 37.5384, 127.0822);
+        addCity("구로", 37.4954, 126.8874);
+        addCity("금천", 37.4566, 126.8972);
+        addCity("노원", 37.6543, 127.0567);
+        addCity("도봉", 37.6688, 127.0470);
+        addCity("동대문", 37.5741, 127.0399);
+        addCity("마포", 37.5637, 126.9086);
+        addCity("서대문", 37.5791, 126.9368);
+        addCity("송파", 37.5145, 127.1060);
+        addCity("종로", 37.5720, 126.9793);
+        addCity("중구", 37.5636, 126.9975);
         
         // 인천 주요 지역
-        cityCoordinates.put("부평", "37.5070,126.7218");
-        cityCoordinates.put("남동", "37.4467,126.7312");
-        cityCoordinates.put("서구", "37.5450,126.6756"); // 인천 서구
-        cityCoordinates.put("연수", "37.4106,126.6780");
-        cityCoordinates.put("계양", "37.5374,126.7380");
-        cityCoordinates.put("강화", "37.7469,126.4881");
+        addCity("부평", 37.5070, 126.7218);
+        addCity("남동", 37.4467, 126.7312);
+        addCity("서구", 37.5450, 126.6756); // 인천 서구
+        addCity("연수", 37.4106, 126.6780);
+        addCity("계양", 37.5374, 126.7380);
+        addCity("강화", 37.7469, 126.4881);
         
         // 주요 관광지 및 명소
-        cityCoordinates.put("에버랜드", "37.2933,127.2025");
-        cityCoordinates.put("롯데월드", "37.5111,127.0980");
-        cityCoordinates.put("경복궁", "37.5796,126.9770");
-        cityCoordinates.put("남산", "37.5514,126.9882");
-        cityCoordinates.put("북한산", "37.6587,126.9773");
-        cityCoordinates.put("독도", "37.2427,131.8675");
-        cityCoordinates.put("울릉도", "37.5041,130.8667");
-        cityCoordinates.put("지리산", "35.3349,127.7306");
-        cityCoordinates.put("설악산", "38.1193,128.4657");
-        cityCoordinates.put("월출산", "34.7547,126.6870");
-        cityCoordinates.put("덕유산", "35.8606,127.7467");
-        cityCoordinates.put("가야산", "35.8227,128.1147");
-        cityCoordinates.put("소백산", "36.9059,128.4575");
-        cityCoordinates.put("오대산", "37.7341,128.5986");
-        cityCoordinates.put("내장산", "35.4977,126.8862");
-        cityCoordinates.put("태안해안", "36.6733,126.2794");
-        cityCoordinates.put("속리산", "36.5307,127.8572");
-        cityCoordinates.put("월정리", "33.5561,126.7959"); // 제주 월정리
-        cityCoordinates.put("해운대", "35.1586,129.1603"); // 부산 해운대
+        addCity("에버랜드", 37.2933, 127.2025);
+        addCity("롯데월드", 37.5111, 127.0980);
+        addCity("경복궁", 37.5796, 126.9770);
+        addCity("남산", 37.5514, 126.9882);
+        addCity("북한산", 37.6587, 126.9773);
+        addCity("독도", 37.2427, 131.8675);
+        addCity("울릉도", 37.5041, 130.8667);
+        addCity("지리산", 35.3349, 127.7306);
+        addCity("설악산", 38.1193, 128.4657);
+        addCity("월출산", 34.7547, 126.6870);
+        addCity("덕유산", 35.8606, 127.7467);
+        addCity("가야산", 35.8227, 128.1147);
+        addCity("소백산", 36.9059, 128.4575);
+        addCity("오대산", 37.7341, 128.5986);
+        addCity("내장산", 35.4977, 126.8862);
+        addCity("태안해안", 36.6733, 126.2794);
+        addCity("속리산", 36.5307, 127.8572);
+        addCity("월정리", 33.5561, 126.7959); // 제주 월정리
+        addCity("해운대", 35.1586, 129.1603); // 부산 해운대
+        
+        this.gazetteer = buildGazetteer();
+    }
+    
+    /**
+     * 미리 정의된 도시 좌표를 추가합니다.
+     */
+    private void addCity(String name, double latitude, double longitude) {
+        cityCoordinates.put(name, new LocationGazetteer.Place(name, latitude, longitude));
+    }
+    
+    /**
+     * 도시 좌표 테이블로 지명 사전을 한 번만 생성합니다.
+     */
+    private LocationGazetteer buildGazetteer() {
+        LocationGazetteer.Builder builder = LocationGazetteer.builder();
+        cityCoordinates.values().forEach(city -> builder.add(city.name(), city.latitude(), city.longitude()));
+        for (String name : UNMAPPED_LOCATION_NAMES) {
+            builder.addName(name);
+        }
+        PROVINCE_ALIASES.forEach(builder::addAlias);
+        
+        LocationGazetteer built = builder.build();
+        log.info("지명 사전 생성 완료: {} 개 지명", built.size());
+        return built;
     }
     
     /**
@@ -284,6 +390,11 @@ public class WeatherService {
      */
     @PostConstruct
     public void init() {
+        quota = new TokenBucket(quotaCallsPerMinute, quotaBurst);
+        Gauge.builder("weather.quota.available", quota, TokenBucket::available)
+                .description("지금 바로 사용할 수 있는 날씨 API 호출 토큰 수")
+                .register(meterRegistry);
+        
         log.info("WeatherService 초기화 완료. API URL: {}, 데모 모드: {}", apiUrl, demoMode);
         
         // API 키 검증
@@ -310,49 +421,104 @@ public class WeatherService {
     }
     
     /**
-     * 특정 위치의 날씨 상태를 반환합니다.
+     * 특정 위치의 현재 날씨 정보를 반환합니다.
+     * 날씨 상태, 기온, 습도, 풍속을 한 번의 API 호출로 가져오며, 같은 격자 칸의 결과는 캐시에서 공유합니다.
      * 
      * @param location 위치명
-     * @return 날씨 상태 문자열
+     * @return 날씨 정보 (오류 시 {@link WeatherSnapshot#unavailable()})
      */
-    public String getWeatherForLocation(String location) {
+    public WeatherSnapshot getWeatherSnapshot(String location) {
         log.info("날씨 정보 요청 위치: {}", location);
         
         // 데모 모드이거나 API 키가 유효하지 않은 경우
         if (demoMode || !hasValidApiKey()) {
             log.info("데모/테스트 모드에서 날씨 정보 제공 (실제 API 호출 안함)");
-            return generateDemoWeather();
+            return new WeatherSnapshot(generateDemoWeather(), generateDemoTemperature(), 50, 2.0, Instant.now());
         }
         
+        GridKey key = null;
         try {
             log.debug("실시간 날씨 정보 요청 시작: {}", location);
-            String coordinates = getCoordinatesForLocation(location);
-            String[] latLon = coordinates.split(",");
-            String url = String.format(
-                "%s?lat=%s&lon=%s&appid=%s&lang=en&units=metric",
-                apiUrl, latLon[0], latLon[1], apiKey
-            );
-            
-            log.debug("Weather API 호출: {}", url.replace(apiKey, "API_KEY_HIDDEN"));
-            
-            String rawResponse = restTemplate.getForObject(url, String.class);
-            log.debug("API 응답 수신: {}", rawResponse);
-            
-            JsonNode response = objectMapper.readTree(rawResponse);
-            String weatherStatus = response.path("weather").get(0).path("description").asText();
-            log.info("날씨 상태 (영어): {}", weatherStatus);
-            
-            // 영어 날씨 상태를 한국어로 변환
-            String koreanWeather = WEATHER_CODE_TO_KOREAN.getOrDefault(weatherStatus.toLowerCase(), "알 수 없음");
-            log.info("날씨 상태 (한국어): {}", koreanWeather);
-            
-            return koreanWeather;
+            LocationGazetteer.Place coordinates = getCoordinatesForLocation(location);
+            key = weatherCache.keyFor(coordinates.latitude(), coordinates.longitude());
+            GridKey cacheKey = key;
+            WeatherSnapshot snapshot = weatherCache.get(cacheKey, () -> fetchWeatherSnapshot(cacheKey));
+            log.info("날씨 정보: {}, {}°C", snapshot.description(), snapshot.temperature());
+            return snapshot;
+        } catch (WeatherQuotaExceededException e) {
+            log.warn("{}", e.getMessage());
+            return lastKnownOrUnavailable(key);
         } catch (Exception e) {
             log.error("날씨 정보를 가져오는 중 오류 발생: {}", e.getMessage(), e);
-            return "알 수 없음 (오류 발생)";
+            return lastKnownOrUnavailable(key);
         }
     }
     
+    /**
+     * 새 값을 가져오지 못했을 때 격자 칸의 마지막으로 알려진 값을 반환하고, 없으면 오류 값을 반환합니다.
+     */
+    private WeatherSnapshot lastKnownOrUnavailable(GridKey key) {
+        if (key == null) {
+            return WeatherSnapshot.unavailable();
+        }
+        return weatherCache.lastKnown(key)
+                .map(snapshot -> {
+                    log.info("마지막으로 알려진 날씨 정보 제공: {} ({}분 전)", key, snapshot.ageMinutes());
+                    return snapshot.asLastKnown();
+                })
+                .orElseGet(WeatherSnapshot::unavailable);
+    }
+    
+    /**
+     * 자주 요청되는 격자 칸의 날씨를 캐시 만료 직전에 미리 갱신합니다.
+     * 인기 지역 요청이 업스트림 호출을 기다리지 않도록 하며, 분당 호출 예산을 넘지 않습니다.
+     * 갱신은 날씨 조회 풀에 맡기므로, 다른 예약 작업과 함께 쓰는 스케줄러 스레드는 응답을 기다리지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${weather.refresh-ahead.interval-ms:15000}",
+               initialDelayString = "${weather.refresh-ahead.interval-ms:15000}")
+    public void refreshAhead() {
+        if (!refreshAheadEnabled || demoMode || !hasValidApiKey()) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        if (now - refreshBudgetWindowStart >= 60_000) {
+            refreshBudgetWindowStart = now;
+            refreshBudgetUsed = 0;
+        }
+        
+        int refreshed = 0;
+        for (GridKey key : weatherCache.refreshAheadCandidates(refreshAheadTopN, refreshAheadLeadSeconds)) {
+            if (refreshBudgetUsed >= refreshAheadBudgetPerMinute) {
+                log.debug("미리 갱신 호출 예산 소진: {}회/분", refreshAheadBudgetPerMinute);
+                break;
+            }
+            if (quota.available() == 0) {
+                // 남은 호출 한도는 사용자 요청에 양보
+                log.debug("호출 한도 소진으로 미리 갱신 중단");
+                break;
+            }
+            if (weatherCache.refreshInBackground(key, () -> fetchWeatherSnapshot(key))) {
+                refreshBudgetUsed++;
+                refreshed++;
+            }
+        }
+        
+        if (refreshed > 0) {
+            log.debug("인기 지역 날씨 미리 갱신 예약: {} 개 격자", refreshed);
+        }
+    }
+    
+    /**
+     * 특정 위치의 날씨 상태를 반환합니다.
+     * 
+     * @param location 위치명
+     * @return 날씨 상태 문자열
+     */
+    public String getWeatherForLocation(String location) {
+        return getWeatherSnapshot(location).description();
+    }
+    
     /**
      * 데모 모드용 가상 날씨 상태 생성
      * 
@@ -381,37 +547,42 @@ public class WeatherService {
      * @return 기온(섭씨)
      */
     public int getTemperatureForLocation(String location) {
-        log.info("기온 정보 요청 위치: {}", location);
+        return getWeatherSnapshot(location).roundedTemperature();
+    }
+    
+    /**
+     * 격자 칸 중심 좌표로 OpenWeatherMap API를 한 번 호출하여 날씨 정보를 만듭니다.
+     */
+    private WeatherSnapshot fetchWeatherSnapshot(GridKey key) {
+        acquireQuota("weather");
         
-        // 데모 모드이거나 API 키가 유효하지 않은 경우
-        if (demoMode || !hasValidApiKey()) {
-            log.info("데모/테스트 모드에서 기온 정보 제공 (실제 API 호출 안함)");
-            return generateDemoTemperature();
-        }
+        URI url = buildUri(apiUrl,
+            "lat", String.format(Locale.ROOT, "%.4f", key.centerLatitude()),
+            "lon", String.format(Locale.ROOT, "%.4f", key.centerLongitude()),
+            "appid", apiKey,
+            "lang", "en",
+            "units", "metric"
+        );
         
-        try {
-            log.debug("실시간 기온 정보 요청 시작: {}", location);
-            String coordinates = getCoordinatesForLocation(location);
-            String[] latLon = coordinates.split(",");
-            String url = String.format(
-                "%s?lat=%s&lon=%s&appid=%s&units=metric",
-                apiUrl, latLon[0], latLon[1], apiKey
-            );
-            
-            log.debug("Weather API 호출: {}", url.replace(apiKey, "API_KEY_HIDDEN"));
-            
-            String rawResponse = restTemplate.getForObject(url, String.class);
-            log.debug("API 응답 수신: {}", rawResponse);
-            
-            JsonNode response = objectMapper.readTree(rawResponse);
-            int temperature = response.path("main").path("temp").asInt();
-            log.info("기온 정보: {}°C", temperature);
-            
-            return temperature;
-        } catch (Exception e) {
-            log.error("기온 정보를 가져오는 중 오류 발생: {}", e.getMessage(), e);
-            return 0;
-        }
+        log.debug("Weather API 호출: {}", url.toString().replace(apiKey, "API_KEY_HIDDEN"));
+        
+        // 응답이 늦으면 헤지 요청을 보내되, 헤지 요청도 호출 한도 토큰을 소모함
+        JsonNode response = readResponse(openWeatherClient.getHedged(url, quota::tryAcquire), "날씨 API");
+        log.debug("API 응답 수신: {}", response);
+        
+        // 영어 날씨 상태를 한국어로 변환
+        String weatherStatus = response.path("weather").path(0).path("description").asText();
+        String koreanWeather = WEATHER_CODE_TO_KOREAN.getOrDefault(weatherStatus.toLowerCase(), "알 수 없음");
+        log.debug("날씨 상태: {} -> {}", weatherStatus, koreanWeather);
+        
+        JsonNode main = response.path("main");
+        return new WeatherSnapshot(
+            koreanWeather,
+            main.path("temp").asDouble(),
+            main.path("humidity").asInt(),
+            response.path("wind").path("speed").asDouble(),
+            Instant.now()
+        );
     }
     
     /**
@@ -438,10 +609,33 @@ public class WeatherService {
     
     /**
      * 도시 좌표 정보를 반환합니다.
-     * @return 도시명과 좌표 정보(위도,경도)를 담은 Map
+     * @return 도시명과 좌표 정보를 담은 Map
+     */
+    public Map<String, LocationGazetteer.Place> getCityCoordinates() {
+        return Collections.unmodifiableMap(cityCoordinates);
+    }
+    
+    /**
+     * 지명 사전을 반환합니다.
+     * @return 도시 좌표 테이블로 만든 불변 지명 사전
      */
-    public Map<String, String> getCityCoordinates() {
-        return cityCoordinates;
+    public LocationGazetteer getGazetteer() {
+        return gazetteer;
+    }
+    
+    /**
+     * 좌표에서 가장 가까운 지원 지역을 찾습니다.
+     * 
+     * @param latitude 위도
+     * @param longitude 경도
+     * @return 가장 가까운 지역과 거리 (설정된 최대 거리보다 멀거나 좌표가 잘못되었으면 empty)
+     */
+    public Optional<LocationGazetteer.Nearby> findNearestLocation(double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude) || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            return Optional.empty();
+        }
+        return gazetteer.nearest(latitude, longitude)
+                .filter(nearby -> nearby.distanceKm() <= nearestCityMaxDistanceKm);
     }
     
     /**
@@ -449,9 +643,9 @@ public class WeatherService {
      * 좌표 정보가 없는 경우 OpenWeatherMap Geocoding API로 검색합니다.
      * 
      * @param location 위치명
-     * @return "위도,경도" 형식의 좌표 문자열
+     * @return 좌표 (이름은 확장된 위치명)
      */
-    private String getCoordinatesForLocation(String location) {
+    private LocationGazetteer.Place getCoordinatesForLocation(String location) {
         // 입력값 정규화 (앞뒤 공백 제거, 특수문자 처리)
         location = location.trim();
         
@@ -462,26 +656,22 @@ public class WeatherService {
             location = "서울";
         }
         
-        // "시" 또는 "도" 접미사가 없는 경우 처리
-        if (!location.endsWith("시") && !location.endsWith("도") && 
-            !location.endsWith("군") && !location.endsWith("구")) {
+        // 지명 사전에서 조회 (접미사 변형, 별칭, 부분 지명 확장 포함)
+        Optional<LocationGazetteer.Place> place = gazetteer.resolve(location);
+        if (place.isPresent()) {
+            LocationGazetteer.Place found = place.get();
+            if (!found.name().equals(location)) {
+                log.info("위치명 '{}' -> '{}' 확장", location, found.name());
+            }
+            location = found.name();
             
-            // 주요 도시 이름인지 확인
-            for (String city : cityCoordinates.keySet()) {
-                if (city.startsWith(location)) {
-                    log.info("위치명 '{}' -> '{}' 확장", location, city);
-                    location = city;
-                    break;
-                }
+            // 미리 정의된 좌표가 있으면 반환
+            if (found.hasCoordinates()) {
+                log.debug("미리 정의된 좌표 사용: {} -> {},{}", location, found.latitude(), found.longitude());
+                return found;
             }
         }
         
-        // 미리 정의된 좌표가 있으면 반환
-        if (cityCoordinates.containsKey(location)) {
-            log.debug("미리 정의된 좌표 사용: {} -> {}", location, cityCoordinates.get(location));
-            return cityCoordinates.get(location);
-        }
-        
         // 데모 모드이거나 API 키가 유효하지 않은 경우 서울 좌표 반환
         if (demoMode || !hasValidApiKey()) {
             log.info("데모 모드이거나 API 키가 유효하지 않아 기본 위치(서울)의 좌표를 사용합니다");
@@ -489,29 +679,14 @@ public class WeatherService {
         }
         
         try {
-            // OpenWeatherMap Geocoding API 사용하여 위치 검색
-            String url = String.format(
-                "https://api.openweathermap.org/geo/1.0/direct?q=%s,KR&limit=1&appid=%s",
-                location, apiKey
-            );
-            
-            log.debug("Geocoding API 호출: {}", url.replace(apiKey, "API_KEY_HIDDEN"));
-            
-            String rawResponse = restTemplate.getForObject(url, String.class);
-            log.debug("Geocoding API 응답: {}", rawResponse);
-            
-            JsonNode response = objectMapper.readTree(rawResponse);
-            if (response.isArray() && response.size() > 0) {
-                double lat = response.get(0).path("lat").asDouble();
-                double lon = response.get(0).path("lon").asDouble();
-                String coordinates = lat + "," + lon;
-                
-                log.info("위치 '{}' 좌표 찾음: {}", location, coordinates);
-                
-                // 새로 찾은 좌표를 캐시에 추가
-                cityCoordinates.put(location, coordinates);
-                return coordinates;
+            // Geocoding 캐시에서 조회 (없으면 API 호출, 찾지 못한 지명도 일정 시간 기억)
+            Optional<LocationGazetteer.Place> coordinates = geocodeCache.get(location, this::geocode);
+            if (coordinates.isPresent()) {
+                return coordinates.get();
             }
+        } catch (WeatherQuotaExceededException e) {
+            // 서울 좌표로 대체하면 엉뚱한 지역의 날씨를 주게 되므로 그대로 전달
+            throw e;
         } catch (Exception e) {
             log.warn("위치 좌표를 찾는 중 오류 발생: {}", location, e);
         }
@@ -521,6 +696,96 @@ public class WeatherService {
         return cityCoordinates.get("서울");
     }
     
+    /**
+     * OpenWeatherMap Geocoding API로 위치를 검색합니다.
+     * 
+     * @param location 위치명
+     * @return 좌표 (검색 결과가 없으면 empty)
+     */
+    private Optional<LocationGazetteer.Place> geocode(String location) {
+        acquireQuota("geocode");
+        
+        URI url = geocodeUri(geocodeUrl, location, apiKey);
+        
+        log.debug("Geocoding API 호출: {}", url.toString().replace(apiKey, "API_KEY_HIDDEN"));
+        
+        JsonNode response = readResponse(openWeatherClient.get(url), "Geocoding API");
+        log.debug("Geocoding API 응답: {}", response);
+        
+        if (response.isArray() && response.size() > 0) {
+            double lat = response.get(0).path("lat").asDouble();
+            double lon = response.get(0).path("lon").asDouble();
+            log.info("위치 '{}' 좌표 찾음: {},{}", location, lat, lon);
+            return Optional.of(new LocationGazetteer.Place(location, lat, lon));
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Geocoding API 요청 URI를 만듭니다. 위치명의 한글, 공백 등은 퍼센트 인코딩됩니다.
+     * 
+     * @param geocodeUrl Geocoding API 주소
+     * @param location 위치명
+     * @param apiKey API 키
+     * @return 요청 URI
+     */
+    static URI geocodeUri(String geocodeUrl, String location, String apiKey) {
+        return buildUri(geocodeUrl, "q", location + ",KR", "limit", "1", "appid", apiKey);
+    }
+    
+    /**
+     * 주소에 쿼리 파라미터(이름, 값 순서의 쌍)를 인코딩하여 붙입니다.
+     */
+    private static URI buildUri(String baseUrl, String... params) {
+        try {
+            URIBuilder builder = new URIBuilder(baseUrl);
+            for (int i = 0; i + 1 < params.length; i += 2) {
+                builder.addParameter(params[i], params[i + 1]);
+            }
+            return builder.build();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("잘못된 API 주소: " + baseUrl, e);
+        }
+    }
+    
+    /**
+     * 비동기 요청의 응답을 전체 대기 한도 안에서 기다려 JSON으로 읽습니다.
+     * 한도를 넘기면 요청을 취소합니다.
+     * 
+     * @param request 진행 중인 요청
+     * @param api 로그/오류 메시지용 API 이름
+     * @return 응답 JSON
+     */
+    private JsonNode readResponse(CompletableFuture<byte[]> request, String api) {
+        try {
+            return objectMapper.readTree(request.get(totalTimeoutMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            request.cancel(true);
+            throw new IllegalStateException(api + " 응답 시간 초과 (" + totalTimeoutMs + "ms)", e);
+        } catch (InterruptedException e) {
+            request.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(api + " 호출 중단", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(api + " 호출 실패", e.getCause());
+        } catch (IOException e) {
+            throw new IllegalStateException(api + " 응답 파싱 실패", e);
+        }
+    }
+    
+    /**
+     * OpenWeatherMap 호출 전에 호출 한도 토큰을 얻습니다.
+     * 
+     * @param call 호출 종류 (weather, geocode)
+     * @throws WeatherQuotaExceededException 토큰이 없는 경우
+     */
+    private void acquireQuota(String call) {
+        if (!quota.tryAcquire()) {
+            meterRegistry.counter("weather.quota.rejected", "call", call).increment();
+            throw new WeatherQuotaExceededException(call);
+        }
+    }
+    
     /**
      * 모든 지원 도시 목록을 반환합니다.
      * 
@@ -0,0 +1,51 @@
+package com.yk.chatbot.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 한 번의 날씨 API 호출로 얻은 현재 날씨 정보
+ * 날씨 상태와 기온을 같은 응답에서 함께 꺼내 쓰므로, 날씨/기온 의도가 같은 업스트림 결과를 공유합니다.
+ *
+ * @param description 날씨 상태 (한국어)
+ * @param temperature 기온 (섭씨)
+ * @param humidity 습도 (%)
+ * @param windSpeed 풍속 (m/s)
+ * @param fetchedAt 응답을 받은 시각
+ * @param lastKnown 호출 한도 초과 등으로 새로 가져오지 못해 마지막으로 알려진 값을 대신 제공하는지 여부
+ */
+public record WeatherSnapshot(String description, double temperature, int humidity, double windSpeed,
+                              Instant fetchedAt, boolean lastKnown) {
+
+    public WeatherSnapshot(String description, double temperature, int humidity, double windSpeed, Instant fetchedAt) {
+        this(description, temperature, humidity, windSpeed, fetchedAt, false);
+    }
+
+    /**
+     * 날씨 정보를 가져오지 못했을 때 사용하는 값 (기존 오류 응답과 동일)
+     */
+    public static WeatherSnapshot unavailable() {
+        return new WeatherSnapshot("알 수 없음 (오류 발생)", 0, 0, 0, Instant.now());
+    }
+
+    /**
+     * 마지막으로 알려진 값으로 표시한 복사본
+     */
+    public WeatherSnapshot asLastKnown() {
+        return new WeatherSnapshot(description, temperature, humidity, windSpeed, fetchedAt, true);
+    }
+
+    /**
+     * 응답을 받은 뒤 지난 시간 (분)
+     */
+    public long ageMinutes() {
+        return Duration.between(fetchedAt, Instant.now()).toMinutes();
+    }
+
+    /**
+     * 정수로 반올림한 기온
+     */
+    public int roundedTemperature() {
+        return (int) Math.round(temperature);
+    }
+}
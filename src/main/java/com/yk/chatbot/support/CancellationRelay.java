@@ -0,0 +1,64 @@
+package com.yk.chatbot.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 여러 단계로 이어진 비동기 작업에서 바깥 Future의 취소를 진행 중인 단계에 전달하는 유틸리티
+ * CompletableFuture는 후속 단계를 취소해도 앞 단계로 전달되지 않으므로, 클라이언트가 연결을 끊어도
+ * 안쪽의 HTTP 호출이 계속 실행됩니다. 단계를 시작할 때 {@link #track}으로 등록해 두면
+ * {@link #cancel()} 호출 시 그 단계를 취소하고, 취소 이후에 시작된 단계는 바로 취소합니다.
+ */
+public final class CancellationRelay {
+
+    private static final CompletableFuture<Void> CANCELLED = new CompletableFuture<>();
+
+    private final AtomicReference<CompletableFuture<?>> current = new AtomicReference<>();
+
+    /**
+     * 진행 중인 단계로 등록합니다. 이미 취소되었으면 단계를 바로 취소합니다.
+     *
+     * @param stage 새로 시작한 단계
+     * @return 전달받은 stage
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> stage) {
+        CompletableFuture<?> previous;
+        do {
+            previous = current.get();
+            if (previous == CANCELLED) {
+                stage.cancel(true);
+                return stage;
+            }
+        } while (!current.compareAndSet(previous, stage));
+        return stage;
+    }
+
+    /**
+     * 진행 중인 단계를 취소하고, 이후에 등록되는 단계도 취소되도록 표시합니다.
+     */
+    public void cancel() {
+        CompletableFuture<?> previous = current.getAndSet(CANCELLED);
+        if (previous != null && previous != CANCELLED) {
+            previous.cancel(true);
+        }
+    }
+
+    public boolean isCancelled() {
+        return current.get() == CANCELLED;
+    }
+
+    /**
+     * outer가 취소되면 진행 중인 단계도 취소합니다.
+     *
+     * @param outer 호출자에게 반환할 Future
+     * @return 전달받은 outer
+     */
+    public <T> CompletableFuture<T> cancelWith(CompletableFuture<T> outer) {
+        outer.whenComplete((value, e) -> {
+            if (outer.isCancelled()) {
+                cancel();
+            }
+        });
+        return outer;
+    }
+}
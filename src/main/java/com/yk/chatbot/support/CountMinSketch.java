@@ -0,0 +1,94 @@
+package com.yk.chatbot.support;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키별 요청 빈도를 고정 크기 메모리로 근사하는 Count-Min Sketch
+ * 추정값은 실제 빈도보다 작지 않으며(과대 추정만 발생), 키 수와 무관하게 depth × width 개의 카운터만 사용합니다.
+ * 증가 횟수가 샘플 크기에 도달하면 모든 카운터를 절반으로 줄여 최근 빈도가 더 크게 반영되도록 합니다.
+ * 여러 스레드에서 동시에 사용할 수 있으며, 절반 감소 중의 경합은 근사 오차로 허용합니다.
+ */
+public final class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    // 행마다 다른 해시를 만들기 위한 시드
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int width;
+    private final int mask;
+    private final AtomicIntegerArray counters;
+    private final long sampleSize;
+    private final AtomicLong additions = new AtomicLong();
+
+    /**
+     * @param expectedKeys 자주 등장할 것으로 예상되는 키 수 (너비를 정하는 기준)
+     * @param sampleSize 카운터를 절반으로 줄이는 증가 횟수 주기
+     */
+    public CountMinSketch(int expectedKeys, long sampleSize) {
+        if (expectedKeys <= 0 || sampleSize <= 0) {
+            throw new IllegalArgumentException("expectedKeys와 sampleSize는 0보다 커야 합니다");
+        }
+        // 예상 키 수의 4배 이상인 2의 거듭제곱으로 너비를 잡아 충돌을 줄임
+        this.width = Integer.highestOneBit(Math.max(16, expectedKeys * 4 - 1)) << 1;
+        this.mask = width - 1;
+        this.counters = new AtomicIntegerArray(DEPTH * width);
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * 키의 빈도를 1 증가시킵니다.
+     * 가장 작은 카운터만 올리는 보수적 증가로 과대 추정을 줄입니다.
+     */
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int[] indexes = new int[DEPTH];
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            indexes[row] = index(hash, row);
+            min = Math.min(min, counters.get(indexes[row]));
+        }
+        for (int row = 0; row < DEPTH; row++) {
+            int current = counters.get(indexes[row]);
+            if (current == min && current < Integer.MAX_VALUE) {
+                counters.compareAndSet(indexes[row], current, current + 1);
+            }
+        }
+
+        if (additions.incrementAndGet() % sampleSize == 0) {
+            halve();
+        }
+    }
+
+    /**
+     * 키의 추정 빈도를 반환합니다.
+     */
+    public int estimate(Object key) {
+        int hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(index(hash, row)));
+        }
+        return min;
+    }
+
+    private void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 32;
+        return row * width + ((int) h & mask);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,595 @@
+package com.yk.chatbot.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * 파일 기반 키-값 저장소 (추가 전용 로그 + 메모리 매핑 색인)
+ * 값은 로그 파일 끝에 레코드로 덧붙이고, 키 해시 → 레코드 위치를 담은 개방 주소 해시 테이블을 별도 파일에 메모리 매핑해 둡니다.
+ * 시작할 때 전체를 읽지 않고 색인만 매핑하므로 항목 수와 무관하게 바로 열리며, 조회 시 필요한 레코드만 읽습니다.
+ * 지운 키의 슬롯은 삭제 표시 레코드를 가리킨 채 남으므로, 삭제 표시를 포함한 사용 중 슬롯 수로 색인 크기를 정하고
+ * 색인을 다시 만들 때 삭제 표시 슬롯을 버립니다.
+ * 덮어쓰거나 지운 레코드는 로그에 남으므로, 죽은 바이트 비율이 커지면 {@link #compactIfNeeded}로 살아 있는 레코드만 새 로그로 옮깁니다.
+ * 색인이 로그와 맞지 않으면(비정상 종료 등) 로그를 다시 읽어 색인을 재구성하며, 끝이 잘린 레코드는 버립니다.
+ * 파일은 처음 기록할 때 만들어집니다. 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+public final class LogStore implements Closeable {
+
+    private static final int LOG_MAGIC = 0x4C53_4C47;   // "LSLG"
+    private static final int INDEX_MAGIC = 0x4C53_4958; // "LSIX"
+
+    // 로그 헤더: magic(4) + generation(8)
+    private static final int LOG_HEADER_BYTES = 12;
+    // 색인 헤더: magic(4) + capacity(4) + size(4) + occupied(4) + generation(8) + logLength(8) + deadBytes(8)
+    private static final int INDEX_HEADER_BYTES = 40;
+    // 색인 슬롯: keyHash(8) + 레코드 위치(8), keyHash 0은 빈 슬롯
+    private static final int SLOT_BYTES = 16;
+    // 레코드: keyLength(4) + valueLength(4, 삭제 표시는 -1) + key + value + crc32(4)
+    private static final int RECORD_OVERHEAD = 12;
+    private static final int TOMBSTONE = -1;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final Path logPath;
+    private final Path indexPath;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel logChannel;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+    // 사용 중인 슬롯 수 (살아 있는 항목 + 삭제 표시 레코드를 가리키는 슬롯)
+    private int occupied;
+    private long generation;
+    private long logLength;
+    private long deadBytes;
+
+    private LogStore(Path logPath, Path indexPath) {
+        this.logPath = logPath;
+        this.indexPath = indexPath;
+    }
+
+    /**
+     * 디렉터리에서 이름에 해당하는 저장소를 엽니다. 파일이 없으면 처음 기록할 때 만듭니다.
+     *
+     * @param directory 저장 디렉터리
+     * @param name 저장소 이름 (파일 이름에 사용)
+     */
+    public static LogStore open(Path directory, String name) throws IOException {
+        LogStore store = new LogStore(directory.resolve(name + ".log"), directory.resolve(name + ".idx"));
+        if (Files.exists(store.logPath)) {
+            store.openFiles();
+        }
+        return store;
+    }
+
+    /**
+     * 키의 값을 읽습니다.
+     */
+    public Optional<byte[]> get(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            int slot = findSlot(keyBytes, hash(keyBytes));
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            Record record = readRecord(slotOffset(slot));
+            return record.value() == null ? Optional.empty() : Optional.of(record.value());
+        } catch (IOException e) {
+            throw new IllegalStateException("저장소 읽기 실패: " + logPath, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 키의 값을 기록합니다. 같은 키의 이전 값은 압축 때 제거됩니다.
+     */
+    public void put(String key, byte[] value) throws IOException {
+        write(key.getBytes(StandardCharsets.UTF_8), value);
+    }
+
+    /**
+     * 키를 지웁니다.
+     */
+    public void remove(String key) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            if (index == null || findSlot(keyBytes, hash(keyBytes)) < 0) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        write(keyBytes, null);
+    }
+
+    /**
+     * 살아 있는 모든 항목을 순회합니다 (순서 없음). 캐시를 미리 채울 때 사용합니다.
+     */
+    public void forEach(BiConsumer<String, byte[]> consumer) {
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return;
+            }
+            for (int slot = 0; slot < capacity; slot++) {
+                if (slotHash(slot) == 0) {
+                    continue;
+                }
+                Record record = readRecord(slotOffset(slot));
+                if (record.value() != null) {
+                    consumer.accept(new String(record.key(), StandardCharsets.UTF_8), record.value());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("저장소 읽기 실패: " + logPath, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 살아 있는 항목 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 로그 파일 크기 (바이트)
+     */
+    public long logBytes() {
+        lock.readLock().lock();
+        try {
+            return logLength;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 로그에서 죽은 레코드(덮어쓰거나 지운 값)가 차지하는 비율이 garbageRatio 이상이고
+     * 로그가 minBytes보다 크면 압축합니다.
+     *
+     * @return 압축했는지 여부
+     */
+    public boolean compactIfNeeded(double garbageRatio, long minBytes) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (index == null || logLength < minBytes || deadBytes < logLength * garbageRatio) {
+                return false;
+            }
+            compact();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 살아 있는 레코드만 새 로그와 색인으로 옮긴 뒤 파일을 교체합니다. 압축 중에는 읽기/쓰기가 대기합니다.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                return;
+            }
+            long nextGeneration = generation + 1;
+            Path compactLog = logPath.resolveSibling(logPath.getFileName() + ".compact");
+
+            int liveCount = 0;
+            try (FileChannel out = FileChannel.open(compactLog, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeLogHeader(out, nextGeneration);
+                out.position(LOG_HEADER_BYTES);
+                for (int slot = 0; slot < capacity; slot++) {
+                    if (slotHash(slot) != 0 && readRecord(slotOffset(slot)).value() != null) {
+                        out.write(readRawRecord(slotOffset(slot)));
+                        liveCount++;
+                    }
+                }
+                out.force(true);
+            }
+
+            close();
+            Files.move(compactLog, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // 세대가 바뀌었으므로 기존 색인은 열 때 버려지고 새 로그에서 다시 만들어짐
+            Files.deleteIfExists(indexPath);
+            openFiles();
+            if (size != liveCount) {
+                throw new IOException("압축 후 항목 수 불일치: " + size + " != " + liveCount);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 헤더를 갱신하고 파일 내용을 디스크에 기록합니다.
+     */
+    public void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                writeIndexHeader();
+                index.force();
+                logChannel.force(false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                writeIndexHeader();
+                index.force();
+                index = null;
+            }
+            if (indexChannel != null) {
+                indexChannel.close();
+                indexChannel = null;
+            }
+            if (logChannel != null) {
+                logChannel.force(false);
+                logChannel.close();
+                logChannel = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(byte[] keyBytes, byte[] value) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                Files.createDirectories(logPath.toAbsolutePath().getParent());
+                openFiles();
+            }
+            long keyHash = hash(keyBytes);
+            int existing = findSlot(keyBytes, keyHash);
+            boolean wasLive = existing >= 0 && readRecord(slotOffset(existing)).value() != null;
+            if (existing < 0 && value == null) {
+                return;
+            }
+            if (existing < 0 && occupied + 1 > capacity / 2) {
+                resize();
+            }
+
+            long offset = logLength;
+            ByteBuffer record = encodeRecord(keyBytes, value);
+            int recordBytes = record.remaining();
+            while (record.hasRemaining()) {
+                logChannel.write(record, offset + (recordBytes - record.remaining()));
+            }
+            logLength += recordBytes;
+
+            if (existing >= 0) {
+                if (wasLive) {
+                    deadBytes += readRawRecord(slotOffset(existing)).remaining();
+                }
+                setSlot(existing, keyHash, offset);
+                if (value == null) {
+                    // 삭제 표시 레코드 자체도 압축 때 제거
+                    deadBytes += recordBytes;
+                }
+            } else {
+                setSlot(freeSlot(keyHash), keyHash, offset);
+                occupied++;
+            }
+            if (wasLive && value == null) {
+                size--;
+            } else if (!wasLive && value != null) {
+                size++;
+            }
+            writeIndexHeader();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void openFiles() throws IOException {
+        boolean created = !Files.exists(logPath);
+        logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (created || logChannel.size() < LOG_HEADER_BYTES) {
+            logChannel.truncate(0);
+            writeLogHeader(logChannel, 1);
+        }
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+        logChannel.read(header, 0);
+        header.flip();
+        if (header.getInt() != LOG_MAGIC) {
+            throw new IOException("저장소 로그 형식이 아닙니다: " + logPath);
+        }
+        generation = header.getLong();
+
+        if (!openIndex()) {
+            rebuildIndex(MIN_CAPACITY, LOG_HEADER_BYTES);
+        }
+        // 색인이 기록한 위치 이후에 덧붙은 레코드(비정상 종료 직전 쓰기)를 색인에 반영
+        replay(logLength);
+    }
+
+    /**
+     * 기존 색인 파일을 매핑합니다. 로그와 세대가 다르거나 로그보다 앞서 있으면 false
+     */
+    private boolean openIndex() throws IOException {
+        if (!Files.exists(indexPath) || Files.size(indexPath) < INDEX_HEADER_BYTES) {
+            return false;
+        }
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+        int storedCapacity = index.getInt(4);
+        boolean valid = index.getInt(0) == INDEX_MAGIC
+                && storedCapacity >= MIN_CAPACITY
+                && indexChannel.size() == INDEX_HEADER_BYTES + (long) storedCapacity * SLOT_BYTES
+                && index.getInt(12) >= index.getInt(8)
+                && index.getInt(12) <= storedCapacity
+                && index.getLong(16) == generation
+                && index.getLong(24) <= logChannel.size();
+        if (!valid) {
+            index = null;
+            indexChannel.close();
+            indexChannel = null;
+            return false;
+        }
+        capacity = storedCapacity;
+        size = index.getInt(8);
+        occupied = index.getInt(12);
+        logLength = index.getLong(24);
+        deadBytes = index.getLong(32);
+        return true;
+    }
+
+    private void rebuildIndex(int newCapacity, long replayFrom) throws IOException {
+        mapNewIndex(newCapacity);
+        size = 0;
+        occupied = 0;
+        deadBytes = 0;
+        logLength = replayFrom;
+    }
+
+    private void mapNewIndex(int newCapacity) throws IOException {
+        if (indexChannel != null) {
+            indexChannel.close();
+        }
+        Files.deleteIfExists(indexPath);
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_BYTES + (long) newCapacity * SLOT_BYTES);
+        capacity = newCapacity;
+    }
+
+    /**
+     * from 위치부터 로그 끝까지 레코드를 읽어 색인에 반영합니다. 끝이 잘리거나 손상된 레코드부터는 잘라 냅니다.
+     */
+    private void replay(long from) throws IOException {
+        long offset = from;
+        long end = logChannel.size();
+        while (offset < end) {
+            Record record;
+            try {
+                record = readRecord(offset);
+            } catch (IOException e) {
+                break;
+            }
+            long keyHash = hash(record.key());
+            int existing = findSlot(record.key(), keyHash);
+            if (existing < 0 && record.value() != null && occupied + 1 > capacity / 2) {
+                resize();
+            }
+            boolean wasLive = existing >= 0 && readRecord(slotOffset(existing)).value() != null;
+            if (existing >= 0) {
+                if (wasLive) {
+                    deadBytes += readRawRecord(slotOffset(existing)).remaining();
+                }
+                setSlot(existing, keyHash, offset);
+            } else if (record.value() != null) {
+                setSlot(freeSlot(keyHash), keyHash, offset);
+                occupied++;
+            }
+            if (record.value() == null) {
+                deadBytes += record.length();
+            }
+            if (wasLive && record.value() == null) {
+                size--;
+            } else if (!wasLive && record.value() != null) {
+                size++;
+            }
+            offset += record.length();
+        }
+        if (offset < end) {
+            logChannel.truncate(offset);
+        }
+        logLength = offset;
+        writeIndexHeader();
+    }
+
+    /**
+     * 살아 있는 항목만 새 색인으로 옮깁니다. 삭제 표시 슬롯을 비워도 여유가 부족할 때만 용량을 두 배로 늘립니다.
+     */
+    private void resize() throws IOException {
+        int newCapacity = size + 1 > capacity / 4 ? capacity * 2 : capacity;
+        long[] hashes = new long[size];
+        long[] offsets = new long[size];
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            long keyHash = slotHash(slot);
+            if (keyHash != 0 && readRecord(slotOffset(slot)).value() != null) {
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2 + 1);
+                    offsets = Arrays.copyOf(offsets, count * 2 + 1);
+                }
+                hashes[count] = keyHash;
+                offsets[count] = slotOffset(slot);
+                count++;
+            }
+        }
+        mapNewIndex(newCapacity);
+        for (int i = 0; i < count; i++) {
+            setSlot(freeSlot(hashes[i]), hashes[i], offsets[i]);
+        }
+        occupied = count;
+        writeIndexHeader();
+    }
+
+    /**
+     * 키가 있는 슬롯을 찾습니다 (삭제 표시 레코드를 가리키는 슬롯 포함). 없으면 -1
+     */
+    private int findSlot(byte[] keyBytes, long keyHash) throws IOException {
+        int slot = (int) Math.floorMod(keyHash, (long) capacity);
+        while (true) {
+            long stored = slotHash(slot);
+            if (stored == 0) {
+                return -1;
+            }
+            if (stored == keyHash && Arrays.equals(readRecord(slotOffset(slot)).key(), keyBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) % capacity;
+        }
+    }
+
+    private int freeSlot(long keyHash) {
+        int slot = (int) Math.floorMod(keyHash, (long) capacity);
+        while (slotHash(slot) != 0) {
+            slot = (slot + 1) % capacity;
+        }
+        return slot;
+    }
+
+    private long slotHash(int slot) {
+        return index.getLong(INDEX_HEADER_BYTES + slot * SLOT_BYTES);
+    }
+
+    private long slotOffset(int slot) {
+        return index.getLong(INDEX_HEADER_BYTES + slot * SLOT_BYTES + 8);
+    }
+
+    private void setSlot(int slot, long keyHash, long offset) {
+        index.putLong(INDEX_HEADER_BYTES + slot * SLOT_BYTES + 8, offset);
+        index.putLong(INDEX_HEADER_BYTES + slot * SLOT_BYTES, keyHash);
+    }
+
+    private void writeIndexHeader() {
+        index.putInt(0, INDEX_MAGIC);
+        index.putInt(4, capacity);
+        index.putInt(8, size);
+        index.putInt(12, occupied);
+        index.putLong(16, generation);
+        index.putLong(24, logLength);
+        index.putLong(32, deadBytes);
+    }
+
+    private static void writeLogHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+        header.putInt(LOG_MAGIC).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static ByteBuffer encodeRecord(byte[] key, byte[] value) {
+        int valueLength = value == null ? 0 : value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_OVERHEAD + key.length + valueLength);
+        buffer.putInt(key.length).putInt(value == null ? TOMBSTONE : value.length).put(key);
+        if (value != null) {
+            buffer.put(value);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * 로그에서 레코드 하나를 읽습니다.
+     *
+     * @param key 키
+     * @param value 값 (삭제 표시 레코드면 null)
+     * @param length 레코드 전체 길이
+     */
+    private record Record(byte[] key, byte[] value, int length) {
+    }
+
+    private Record readRecord(long offset) throws IOException {
+        ByteBuffer raw = readRawRecord(offset);
+        int keyLength = raw.getInt();
+        int valueLength = raw.getInt();
+        byte[] key = new byte[keyLength];
+        raw.get(key);
+        byte[] value = null;
+        if (valueLength != TOMBSTONE) {
+            value = new byte[valueLength];
+            raw.get(value);
+        }
+        return new Record(key, value, raw.limit());
+    }
+
+    private ByteBuffer readRawRecord(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8);
+        readFully(header, offset);
+        int keyLength = header.getInt(0);
+        int valueLength = header.getInt(4);
+        long available = logChannel.size() - offset;
+        if (keyLength < 0 || valueLength < TOMBSTONE
+                || RECORD_OVERHEAD + (long) keyLength + Math.max(valueLength, 0) > available) {
+            throw new IOException("손상된 레코드: offset=" + offset);
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + keyLength + Math.max(valueLength, 0));
+        readFully(record, offset);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.limit() - 4);
+        if ((int) crc.getValue() != record.getInt(record.limit() - 4)) {
+            throw new IOException("레코드 체크섬 불일치: offset=" + offset);
+        }
+        return record;
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (logChannel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("로그 끝을 넘어 읽음: offset=" + offset);
+            }
+        }
+        buffer.flip();
+    }
+
+    // FNV-1a 64비트 해시 (0은 빈 슬롯이므로 사용하지 않음)
+    private static long hash(byte[] key) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : key) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+}
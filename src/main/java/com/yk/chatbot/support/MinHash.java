@@ -0,0 +1,120 @@
+package com.yk.chatbot.support;
+
+import java.util.Arrays;
+
+/**
+ * 문자 n-gram 집합의 MinHash 서명
+ * 두 서명에서 값이 같은 위치의 비율은 원래 집합의 자카드 유사도의 추정값이 되며,
+ * 서명을 band 단위로 나눠 해시하면(LSH) 유사한 문자열만 같은 버킷에 모이므로 전체를 비교하지 않고 후보를 찾을 수 있습니다.
+ * 생성 후에는 변경되지 않아 여러 스레드에서 공유할 수 있습니다.
+ */
+public final class MinHash {
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    /**
+     * @param bands LSH band 수
+     * @param rows band 하나의 해시 수 (서명 길이 = bands × rows)
+     */
+    public MinHash(int bands, int rows) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("bands와 rows는 0보다 커야 합니다");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new long[bands * rows];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < seeds.length; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            seeds[i] = seed;
+        }
+    }
+
+    public int bands() {
+        return bands;
+    }
+
+    /**
+     * 문자열을 size 글자 단위 n-gram의 해시 집합(정렬, 중복 제거)으로 바꿉니다.
+     * size보다 짧은 문자열은 문자열 전체를 하나의 n-gram으로 봅니다.
+     */
+    public static int[] shingles(String text, int size) {
+        if (text.isEmpty()) {
+            return new int[0];
+        }
+        if (text.length() <= size) {
+            return new int[]{text.hashCode()};
+        }
+        int[] hashes = new int[text.length() - size + 1];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = text.substring(i, i + size).hashCode();
+        }
+        return Arrays.stream(hashes).sorted().distinct().toArray();
+    }
+
+    /**
+     * 정렬된 n-gram 해시 집합의 자카드 유사도를 계산합니다.
+     */
+    public static double jaccard(int[] a, int[] b) {
+        if (a.length == 0 && b.length == 0) {
+            return 1.0;
+        }
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    /**
+     * n-gram 해시 집합의 서명을 계산합니다.
+     */
+    public long[] signature(int[] shingles) {
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                long hash = mix(shingle ^ seeds[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 서명의 band별 버킷 키를 계산합니다.
+     * 어떤 band의 키가 같으면 유사 후보로 봅니다.
+     */
+    public long[] bandKeys(long[] signature) {
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int row = 0; row < rows; row++) {
+                key = mix(key * 31 + signature[band * rows + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    // SplitMix64 마무리 함수
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,205 @@
+package com.yk.chatbot.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문자열 키의 불변 완전 해시 테이블 (CHD: compress, hash, displace)
+ * 키 집합을 미리 알 때 키마다 서로 다른 칸을 배정하므로, 조회는 해시 두 번과 문자열 비교 한 번으로 끝나고
+ * 탐사나 체인을 따라갈 필요가 없습니다. 키를 먼저 작은 버킷으로 나눈 뒤, 큰 버킷부터
+ * 버킷 안의 모든 키가 빈 칸에 들어가는 변위 값을 찾아 버킷마다 기록합니다.
+ * 없는 키도 어떤 칸으로 계산되므로 칸에 저장된 키와 비교하여 확인합니다.
+ *
+ * @param <V> 값 타입
+ */
+public final class PerfectHashTable<V> {
+
+    // 버킷당 평균 키 수
+    private static final int KEYS_PER_BUCKET = 4;
+
+    // 칸 수 대비 키 수 (낮을수록 변위 탐색이 빠름)
+    private static final double LOAD_FACTOR = 0.8;
+
+    private static final int MAX_ATTEMPTS = 16;
+
+    private final long seed;
+    private final int[] displacements;
+    private final String[] keys;
+    private final Object[] values;
+    private final int size;
+
+    private PerfectHashTable(long seed, int[] displacements, String[] keys, Object[] values, int size) {
+        this.seed = seed;
+        this.displacements = displacements;
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * 키-값 목록으로 테이블을 만듭니다.
+     *
+     * @param entries 키-값 목록 (키는 null이 아니어야 함)
+     * @return 불변 테이블
+     * @throws IllegalStateException 정해진 횟수 안에 모든 키를 배치하지 못한 경우 (사실상 발생하지 않음)
+     */
+    public static <V> PerfectHashTable<V> build(Map<String, ? extends V> entries) {
+        String[] inputKeys = entries.keySet().toArray(new String[0]);
+        int n = inputKeys.length;
+        int bucketCount = Math.max(1, n / KEYS_PER_BUCKET);
+        int slotCount = Math.max(1, (int) Math.ceil(n / LOAD_FACTOR));
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long seed = mix(0x9E3779B97F4A7C15L * (attempt + 1));
+            int[] displacements = place(inputKeys, seed, bucketCount, slotCount);
+            if (displacements == null) {
+                continue;
+            }
+
+            String[] keys = new String[slotCount];
+            Object[] values = new Object[slotCount];
+            PerfectHashTable<V> table = new PerfectHashTable<>(seed, displacements, keys, values, n);
+            for (String key : inputKeys) {
+                int slot = table.slot(key);
+                keys[slot] = key;
+                values[slot] = entries.get(key);
+            }
+            return table;
+        }
+        throw new IllegalStateException("완전 해시 테이블을 만들 수 없습니다: " + n + "개 키");
+    }
+
+    /**
+     * 키에 해당하는 값을 찾습니다.
+     *
+     * @param key 조회할 키
+     * @return 값 (없으면 null)
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        if (size == 0 || key == null) {
+            return null;
+        }
+        int slot = slot(key);
+        return key.equals(keys[slot]) ? (V) values[slot] : null;
+    }
+
+    /**
+     * 저장된 키 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 버킷마다 모든 키가 서로 다른 빈 칸에 들어가는 변위를 찾습니다.
+     *
+     * @return 버킷별 변위 (실패하면 null)
+     */
+    private static int[] place(String[] inputKeys, long seed, int bucketCount, int slotCount) {
+        List<List<long[]>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String key : inputKeys) {
+            long[] hashes = hashes(key, seed);
+            buckets.get(bucketOf(hashes[0], bucketCount)).add(hashes);
+        }
+
+        Integer[] order = new Integer[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> buckets.get(i).size()).reversed());
+
+        int[] displacements = new int[bucketCount];
+        BitSet occupied = new BitSet(slotCount);
+        int[] slots = new int[inputKeys.length];
+        // 변위 d는 (d / 칸 수, d % 칸 수) 쌍으로 해석하므로 칸 수의 제곱까지 시도할 수 있음
+        long maxDisplacement = Math.min((long) slotCount * slotCount, 1L << 20);
+
+        for (int bucket : order) {
+            List<long[]> members = buckets.get(bucket);
+            if (members.isEmpty()) {
+                break;
+            }
+            boolean placed = false;
+            for (int d = 0; d < maxDisplacement && !placed; d++) {
+                placed = true;
+                for (int k = 0; k < members.size(); k++) {
+                    int slot = slotOf(members.get(k), d, slotCount);
+                    if (occupied.get(slot) || contains(slots, k, slot)) {
+                        placed = false;
+                        break;
+                    }
+                    slots[k] = slot;
+                }
+                if (placed) {
+                    for (int k = 0; k < members.size(); k++) {
+                        occupied.set(slots[k]);
+                    }
+                    displacements[bucket] = d;
+                }
+            }
+            if (!placed) {
+                return null;
+            }
+        }
+        return displacements;
+    }
+
+    private int slot(String key) {
+        long[] hashes = hashes(key, seed);
+        return slotOf(hashes, displacements[bucketOf(hashes[0], displacements.length)], keys.length);
+    }
+
+    private static boolean contains(int[] slots, int length, int slot) {
+        for (int i = 0; i < length; i++) {
+            if (slots[i] == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int bucketOf(long hash, int bucketCount) {
+        return (int) Long.remainderUnsigned(hash, bucketCount);
+    }
+
+    // 칸 = (f1 + d0 * f2 + d1) mod 칸 수
+    private static int slotOf(long[] hashes, int displacement, int slotCount) {
+        long d0 = displacement / slotCount;
+        long d1 = displacement % slotCount;
+        long f1 = Long.remainderUnsigned(hashes[1], slotCount);
+        long f2 = Long.remainderUnsigned(hashes[2], slotCount);
+        return (int) ((f1 + d0 * f2 + d1) % slotCount);
+    }
+
+    /**
+     * 버킷 선택용과 칸 계산용(f1, f2) 해시를 함께 계산합니다.
+     */
+    private static long[] hashes(String key, long seed) {
+        // FNV-1a 64비트
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        long h0 = mix(hash);
+        long h1 = mix(h0 + 0x9E3779B97F4A7C15L);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L);
+        return new long[]{h0, h1, h2};
+    }
+
+    // SplitMix64 마무리 함수
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
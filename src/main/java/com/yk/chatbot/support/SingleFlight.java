@@ -0,0 +1,83 @@
+package com.yk.chatbot.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 호출을 하나의 실행으로 합치는 유틸리티 (single-flight)
+ * 처음 호출한 스레드가 실제 작업을 수행하고, 그 사이에 같은 키로 들어온 호출은 진행 중인 결과를 함께 기다립니다.
+ * 작업이 끝나면 키가 제거되므로 결과를 보관하지는 않습니다 (보관은 캐시의 역할).
+ *
+ * @param <K> 키 타입
+ * @param <V> 결과 타입
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    /**
+     * @param name 메트릭 태그에 사용할 이름
+     * @param meterRegistry 합쳐진 호출 수를 기록할 레지스트리
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("singleflight.coalesced")
+                .description("진행 중인 호출에 합류한 호출 수")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 키에 대한 작업을 실행하거나, 이미 진행 중이면 그 결과를 기다립니다.
+     *
+     * @param key 호출 키
+     * @param loader 실제 작업 (처음 호출한 스레드에서 실행)
+     * @return 작업 결과 (작업이 실패하면 같은 예외를 모든 호출자에게 던짐)
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> owned = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, owned);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            owned.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            owned.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+
+    /**
+     * 현재 진행 중인 키 수
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.yk.chatbot.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없이 동작하는 토큰 버킷 (GCRA 방식)
+ * 토큰 수를 직접 세는 대신 "다음 토큰이 완전히 찰 이론상 시각" 하나만 CAS로 갱신하므로,
+ * 여러 스레드가 동시에 호출해도 락 경합 없이 초당 호출 수와 순간 허용량(burst)을 지킵니다.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+
+    // 이론상 도착 시각 (TAT, System.nanoTime 기준)
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerMinute 분당 허용 호출 수
+     * @param burst 한 번에 몰려도 허용할 최대 호출 수
+     */
+    public TokenBucket(int permitsPerMinute, int burst) {
+        if (permitsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerMinute와 burst는 0보다 커야 합니다");
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.burstNanos = emissionIntervalNanos * burst;
+        // 버킷이 가득 찬 상태로 시작
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 토큰 하나를 얻습니다.
+     *
+     * @return 토큰을 얻었으면 true, 버킷이 비어 있으면 false (대기하지 않음)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + emissionIntervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 지금 바로 사용할 수 있는 토큰 수 (근사값)
+     */
+    public int available() {
+        long now = System.nanoTime();
+        long backlog = Math.max(theoreticalArrival.get(), now) - now;
+        return (int) ((burstNanos - backlog) / emissionIntervalNanos);
+    }
+}
@@ -0,0 +1,68 @@
+package com.yk.chatbot.lasa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisResultTest {
+
+    @Test
+    void addEntityValueKeepsOrderAndFirstValue() {
+        AnalysisResult result = AnalysisResult.builder().build()
+                .addEntityValue("location", "서울")
+                .addEntityValue("location", "부산")
+                .addEntityValue("location", "서울");
+
+        assertEquals(List.of("서울", "부산"), result.getEntityValues("location"));
+        assertEquals("서울", result.getEntities().get("location"));
+    }
+
+    @Test
+    void addEntityValueDoesNotOverrideExistingEntity() {
+        AnalysisResult result = AnalysisResult.builder().build()
+                .addEntity("location", "대구")
+                .addEntityValue("location", "부산");
+
+        assertEquals("대구", result.getEntities().get("location"));
+        assertEquals(List.of("부산"), result.getEntityValues("location"));
+    }
+
+    @Test
+    void getEntityValuesFallsBackToSingleValue() {
+        AnalysisResult result = AnalysisResult.builder().build()
+                .addEntity("location", "서울")
+                .addEntity("datetime", " ");
+
+        assertEquals(List.of("서울"), result.getEntityValues("location"));
+        assertTrue(result.getEntityValues("datetime").isEmpty());
+        assertTrue(result.getEntityValues("person").isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+                () -> result.getEntityValues("location").add("부산"));
+    }
+
+    @Test
+    void replaceEntityDropsPreviousValues() {
+        AnalysisResult result = AnalysisResult.builder().build()
+                .addEntityValue("location", "서울")
+                .addEntityValue("location", "부산")
+                .replaceEntity("location", "제주");
+
+        assertEquals("제주", result.getEntities().get("location"));
+        assertEquals(List.of("제주"), result.getEntityValues("location"));
+    }
+
+    @Test
+    void nullMapsFromNoArgsConstructorAreCreatedOnDemand() {
+        AnalysisResult result = new AnalysisResult();
+        result.setEntities(null);
+        result.setEntityValues(null);
+
+        assertTrue(result.getEntityValues("location").isEmpty());
+        result.addEntityValue("location", "서울");
+        assertEquals(List.of("서울"), result.getEntityValues("location"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.yk.chatbot.lasa.impl;
+
+import com.yk.chatbot.lasa.Analyze;
+import com.yk.chatbot.lasa.AnalysisResult;
+import com.yk.chatbot.support.LogStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingAnalyzerTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StubAnalyzer delegate = new StubAnalyzer();
+    private LogStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = LogStore.open(dir, "analysis");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void returnsCopiesThatCallersCannotCorrupt() {
+        CachingAnalyzer analyzer = cachingAnalyzer("v1");
+
+        AnalysisResult first = analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        first.replaceEntity("location", "부산");
+        first.setIntent("bye");
+        AnalysisResult second = analyzer.analyzeAsync("서울  날씨", null, DIRECT).join();
+
+        assertEquals(1, delegate.calls.get());
+        assertEquals("weather", second.getIntent());
+        assertEquals(List.of("서울"), second.getEntityValues("location"));
+        assertEquals("서울  날씨", second.getOriginalMessage());
+    }
+
+    @Test
+    void versionChangeInvalidatesMemoryAndStoredResults() {
+        CachingAnalyzer analyzer = cachingAnalyzer("v1");
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+
+        // 같은 버전이면 저장소의 결과를 사용
+        cachingAnalyzer("v1").analyzeAsync("서울 날씨", null, DIRECT).join();
+        assertEquals(1, delegate.calls.get());
+
+        analyzer.updateVersion("v2");
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        assertEquals(2, delegate.calls.get());
+
+        // v2 결과로 덮어썼으므로 v1 캐시는 저장소 결과를 쓰지 않음
+        cachingAnalyzer("v1").analyzeAsync("서울 날씨", null, DIRECT).join();
+        assertEquals(3, delegate.calls.get());
+    }
+
+    @Test
+    void unknownVersionBypassesCache() {
+        CachingAnalyzer analyzer = cachingAnalyzer(null);
+
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        assertEquals(2, delegate.calls.get());
+
+        analyzer.updateVersion("v1");
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        assertEquals(3, delegate.calls.get());
+    }
+
+    @Test
+    void skipsErrorAndDegradedResults() {
+        CachingAnalyzer analyzer = cachingAnalyzer("v1");
+
+        delegate.answer = message -> CompletableFuture.completedFuture(
+                AnalysisResult.builder().intent("error").originalMessage(message).build());
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        assertEquals(2, delegate.calls.get());
+
+        delegate.answer = message -> CompletableFuture.completedFuture(
+                AnalysisResult.builder().intent("weather").confidence(0.9).originalMessage(message).degraded(true).build());
+        AnalysisResult degraded = analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        analyzer.analyzeAsync("서울 날씨", null, DIRECT).join();
+        assertEquals(4, delegate.calls.get());
+        assertTrue(degraded.isDegraded());
+        assertFalse(store.get(SimpleListener.normalize("서울 날씨")).isPresent());
+    }
+
+    @Test
+    void concurrentMissesShareOneAnalysis() {
+        CompletableFuture<AnalysisResult> pending = new CompletableFuture<>();
+        delegate.answer = message -> pending;
+        CachingAnalyzer analyzer = cachingAnalyzer("v1");
+
+        CompletableFuture<AnalysisResult> first = analyzer.analyzeAsync("서울 날씨", null, DIRECT);
+        CompletableFuture<AnalysisResult> second = analyzer.analyzeAsync(" 서울  날씨 ", null, DIRECT);
+        assertFalse(first.isDone());
+        assertEquals(1, delegate.calls.get());
+
+        pending.complete(weather("서울 날씨"));
+
+        assertEquals("weather", first.join().getIntent());
+        assertEquals("weather", second.join().getIntent());
+        assertEquals(" 서울  날씨 ", second.join().getOriginalMessage());
+        assertEquals(1, delegate.calls.get());
+    }
+
+    private CachingAnalyzer cachingAnalyzer(String version) {
+        return new CachingAnalyzer("test", delegate, store, registry, 100, Duration.ofMinutes(10), version, () -> true);
+    }
+
+    private static AnalysisResult weather(String message) {
+        return AnalysisResult.builder()
+                .intent("weather")
+                .confidence(0.9)
+                .originalMessage(message)
+                .build()
+                .addEntityValue("location", "서울");
+    }
+
+    private static final class StubAnalyzer implements Analyze {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private Function<String, CompletableFuture<AnalysisResult>> answer =
+                message -> CompletableFuture.completedFuture(weather(message));
+
+        @Override
+        public AnalysisResult analyze(String message) {
+            return analyzeAsync(message, null, DIRECT).join();
+        }
+
+        @Override
+        public CompletableFuture<AnalysisResult> analyzeAsync(String message, String userId, Executor executor) {
+            calls.incrementAndGet();
+            return answer.apply(message);
+        }
+    }
+}
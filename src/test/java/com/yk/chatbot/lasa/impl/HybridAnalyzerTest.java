@@ -0,0 +1,130 @@
+package com.yk.chatbot.lasa.impl;
+
+import com.yk.chatbot.lasa.AnalysisResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HybridAnalyzerTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final RasaAnalyzer rasaAnalyzer = mock(RasaAnalyzer.class);
+    private final KoalaNLPAnalyzer koalaNLPAnalyzer = mock(KoalaNLPAnalyzer.class);
+    // 분석기 풀로 넘긴 작업 수
+    private final AtomicInteger analyzerTasks = new AtomicInteger();
+    private final HybridAnalyzer analyzer = new HybridAnalyzer(rasaAnalyzer, koalaNLPAnalyzer, task -> {
+        analyzerTasks.incrementAndGet();
+        task.run();
+    });
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(analyzer, "earlyExitEnabled", false);
+        ReflectionTestUtils.setField(analyzer, "earlyExitBudgetMs", 50L);
+        when(rasaAnalyzer.isAvailable()).thenReturn(true);
+    }
+
+    @Test
+    void confidentKomoranResultIsReturnedAfterBudgetAndRasaIsCancelled() {
+        ReflectionTestUtils.setField(analyzer, "earlyExitEnabled", true);
+        CompletableFuture<AnalysisResult> rasa = new CompletableFuture<>();
+        when(rasaAnalyzer.analyzeAsync(anyString(), any(), any())).thenReturn(rasa);
+        answer(koalaNLPAnalyzer, result("weather", 0.9).addEntityValue("location", "서울"));
+
+        long start = System.nanoTime();
+        AnalysisResult result = analyzer.analyzeAsync("message", null, DIRECT).join();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("weather", result.getIntent());
+        assertEquals(List.of("서울"), result.getEntityValues("location"));
+        assertTrue(result.isDegraded());
+        assertTrue(elapsedMs >= 50, "Rasa 응답을 예산만큼 기다려야 함: " + elapsedMs + "ms");
+        assertTrue(rasa.isCancelled());
+        // 시간 초과 후 병합은 지연 스케줄러 스레드가 아닌 분석기 풀에서 실행
+        assertEquals(1, analyzerTasks.get());
+    }
+
+    @Test
+    void rasaAnswerWithinBudgetIsMerged() {
+        ReflectionTestUtils.setField(analyzer, "earlyExitEnabled", true);
+        ReflectionTestUtils.setField(analyzer, "earlyExitBudgetMs", 5000L);
+        CompletableFuture<AnalysisResult> rasa = new CompletableFuture<>();
+        when(rasaAnalyzer.analyzeAsync(anyString(), any(), any())).thenReturn(rasa);
+        answer(koalaNLPAnalyzer, result("weather", 0.9));
+
+        CompletableFuture<AnalysisResult> merged = analyzer.analyzeAsync("message", null, DIRECT);
+        rasa.complete(result("weather", 0.8).addEntityValue("location", "부산"));
+
+        AnalysisResult result = merged.join();
+        assertFalse(result.isDegraded());
+        assertEquals(List.of("부산"), result.getEntityValues("location"));
+        assertFalse(rasa.isCancelled());
+    }
+
+    @Test
+    void rasaErrorFallsBackToKomoran() {
+        answer(rasaAnalyzer, result("error", 0.0));
+        answer(koalaNLPAnalyzer, result("temperature", 0.5).addEntityValue("location", "대구"));
+
+        AnalysisResult result = analyzer.analyzeAsync("message", null, DIRECT).join();
+
+        assertEquals("temperature", result.getIntent());
+        assertEquals(0.5, result.getConfidence());
+        assertEquals(List.of("대구"), result.getEntityValues("location"));
+        assertTrue(result.isDegraded());
+    }
+
+    @Test
+    void mergedValuesComeFromAnalyzerWhoseValueWasChosen() {
+        // location 충돌은 KOMORAN, 그 밖의 충돌은 Rasa 값을 채택
+        answer(rasaAnalyzer, result("weather", 0.8)
+                .addEntityValue("location", "서울")
+                .addEntityValue("food", "짜장면")
+                .addEntityValue("food", "짬뽕"));
+        answer(koalaNLPAnalyzer, result("weather", 0.6)
+                .addEntityValue("location", "부산")
+                .addEntityValue("location", "대구")
+                .addEntityValue("food", "피자")
+                .addEntity("datetime", "내일"));
+
+        AnalysisResult merged = analyzer.analyzeAsync("message", null, DIRECT).join();
+
+        assertEquals("부산", merged.getEntities().get("location"));
+        assertEquals(List.of("부산", "대구"), merged.getEntityValues("location"));
+        assertEquals("짜장면", merged.getEntities().get("food"));
+        assertEquals(List.of("짜장면", "짬뽕"), merged.getEntityValues("food"));
+        assertEquals(List.of("내일"), merged.getEntityValues("datetime"));
+        assertFalse(merged.isDegraded());
+    }
+
+    static AnalysisResult result(String intent, double confidence) {
+        return AnalysisResult.builder()
+                .intent(intent)
+                .confidence(confidence)
+                .originalMessage("message")
+                .build();
+    }
+
+    private static void answer(RasaAnalyzer analyzer, AnalysisResult result) {
+        when(analyzer.analyzeAsync(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(result));
+    }
+
+    private static void answer(KoalaNLPAnalyzer analyzer, AnalysisResult result) {
+        when(analyzer.analyzeAsync(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(result));
+    }
+}
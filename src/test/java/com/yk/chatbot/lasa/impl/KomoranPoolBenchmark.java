@@ -0,0 +1,97 @@
+package com.yk.chatbot.lasa.impl;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KOMORAN 인스턴스 풀의 스레드 수별 처리량 측정
+ * 스레드 수를 1부터 CPU 코어 수까지 늘려가며 초당 분석 건수와 풀 대기 시간을 출력합니다.
+ *
+ * 실행: ./gradlew komoranBenchmark [-PbenchmarkSeconds=5]
+ */
+public class KomoranPoolBenchmark {
+
+    private static final String[] MESSAGES = {
+            "서울 날씨 어때?",
+            "오늘 부산 기온이 몇 도야",
+            "안녕하세요 반가워요",
+            "내일 제주도에 비 와?",
+            "지금 몇시야",
+            "강릉 미세먼지 알려줘",
+            "고마워 덕분에 살았어",
+            "대전이랑 대구 중에 어디가 더 더워?"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("KOMORAN 풀 벤치마크: 구간당 %d초, 최대 %d 스레드%n", seconds, maxThreads);
+        System.out.printf("%8s %14s %10s %16s%n", "threads", "ops/sec", "scaling", "avg wait(us)");
+
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            KomoranPool pool = new KomoranPool(threads, Set.of("서울", "부산", "제주도", "강릉"), 5000, registry);
+
+            // 워밍업
+            runFor(pool, threads, 1);
+            double opsPerSecond = runFor(pool, threads, seconds);
+            if (baseline == 0) {
+                baseline = opsPerSecond;
+            }
+
+            Timer waitTimer = registry.get("komoran.pool.wait").timer();
+            System.out.printf("%8d %14.1f %9.2fx %16.2f%n",
+                    threads, opsPerSecond, opsPerSecond / baseline, waitTimer.mean(TimeUnit.MICROSECONDS));
+        }
+    }
+
+    private static int nextThreadCount(int threads, int maxThreads) {
+        if (threads == maxThreads) {
+            return maxThreads + 1;
+        }
+        return Math.min(threads * 2, maxThreads);
+    }
+
+    private static double runFor(KomoranPool pool, int threads, int seconds) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                int i = offset;
+                try {
+                    while (running.get()) {
+                        pool.analyze(MESSAGES[i++ % MESSAGES.length]);
+                        operations.increment();
+                    }
+                } finally {
+                    // 분석 중 예외가 나도 측정 스레드가 영원히 기다리지 않도록 항상 완료 처리
+                    done.countDown();
+                }
+            }, "komoran-bench-" + t);
+            workers.add(worker);
+        }
+
+        long start = System.nanoTime();
+        workers.forEach(Thread::start);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        return operations.sum() / (elapsed / 1_000_000_000.0);
+    }
+}
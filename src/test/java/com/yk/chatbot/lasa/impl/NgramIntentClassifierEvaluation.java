@@ -0,0 +1,164 @@
+package com.yk.chatbot.lasa.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * n-gram 의도 분류기 오프라인 평가
+ * 학습 예문을 의도별로 고르게 k개 묶음으로 나누어 교차 검증한 정확도와 분류 지연 시간을 출력합니다.
+ * Rasa 서버 주소를 주면 같은 예문을 Rasa로도 분석하여 정확도, 일치율, 지연 시간을 함께 비교합니다.
+ * (Rasa 모델은 모든 예문으로 학습되어 있으므로 Rasa 정확도는 실제보다 높게 나옵니다.)
+ *
+ * 실행: ./gradlew ngramEvaluation [-PnluPath=rasaServer/data/nlu.yml] [-Pfolds=5] [-PrasaUrl=http://localhost:5005]
+ */
+public class NgramIntentClassifierEvaluation {
+
+    private static final int FEATURE_BITS = 16;
+    private static final int EPOCHS = 30;
+    private static final double LEARNING_RATE = 0.5;
+    private static final double L2 = 0.00001;
+
+    private static final int LATENCY_ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        Path nluPath = Path.of(args.length > 0 ? args[0] : "rasaServer/data/nlu.yml");
+        int folds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String rasaUrl = args.length > 2 && !args[2].isBlank() ? args[2] : null;
+
+        List<NluTrainingData.Example> examples;
+        try (InputStream in = Files.newInputStream(nluPath)) {
+            examples = NluTrainingData.parse(in);
+        }
+        System.out.printf("n-gram 의도 분류기 평가: 예문 %d개, %d-fold 교차 검증%n", examples.size(), folds);
+
+        // 의도별로 돌아가며 묶음 배정 (묶음마다 의도 비율 유지)
+        Map<String, Integer> seen = new HashMap<>();
+        int[] foldOf = new int[examples.size()];
+        for (int i = 0; i < examples.size(); i++) {
+            foldOf[i] = seen.merge(examples.get(i).intent(), 1, Integer::sum) % folds;
+        }
+
+        String[] predicted = new String[examples.size()];
+        List<Long> latencies = new ArrayList<>();
+        long trainingNanos = 0;
+        for (int fold = 0; fold < folds; fold++) {
+            List<NluTrainingData.Example> train = new ArrayList<>();
+            List<Integer> test = new ArrayList<>();
+            for (int i = 0; i < examples.size(); i++) {
+                if (foldOf[i] == fold) {
+                    test.add(i);
+                } else {
+                    train.add(examples.get(i));
+                }
+            }
+
+            long start = System.nanoTime();
+            NgramIntentClassifier classifier = NgramIntentClassifier.train(train, FEATURE_BITS, EPOCHS, LEARNING_RATE, L2);
+            trainingNanos += System.nanoTime() - start;
+
+            for (int i : test) {
+                predicted[i] = classifier.predict(examples.get(i).text()).intent();
+            }
+
+            // 워밍업 후 예문마다 분류 시간 측정
+            for (int round = 0; round < LATENCY_ROUNDS; round++) {
+                for (int i : test) {
+                    long begin = System.nanoTime();
+                    classifier.predict(examples.get(i).text());
+                    if (round >= LATENCY_ROUNDS / 2) {
+                        latencies.add(System.nanoTime() - begin);
+                    }
+                }
+            }
+        }
+
+        printAccuracy("n-gram", examples, predicted);
+        System.out.printf("학습 시간 (fold 평균): %.1f ms%n", trainingNanos / 1e6 / folds);
+        printLatency("n-gram", latencies);
+
+        if (rasaUrl != null) {
+            compareWithRasa(rasaUrl, examples, predicted);
+        }
+    }
+
+    private static void compareWithRasa(String rasaUrl, List<NluTrainingData.Example> examples,
+                                        String[] ngramPredicted) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        String[] rasaPredicted = new String[examples.size()];
+        List<Long> latencies = new ArrayList<>();
+
+        for (int i = 0; i < examples.size(); i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(rasaUrl + "/model/parse"))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(Map.of("text", examples.get(i).text()))))
+                    .build();
+            long begin = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies.add(System.nanoTime() - begin);
+            JsonNode body = objectMapper.readTree(response.body());
+            rasaPredicted[i] = body.path("intent").path("name").asText("unknown");
+        }
+
+        printAccuracy("Rasa", examples, rasaPredicted);
+        printLatency("Rasa", latencies);
+
+        int agreed = 0;
+        for (int i = 0; i < examples.size(); i++) {
+            if (rasaPredicted[i].equals(ngramPredicted[i])) {
+                agreed++;
+            }
+        }
+        System.out.printf("n-gram / Rasa 의도 일치율: %.1f%%%n", 100.0 * agreed / examples.size());
+    }
+
+    private static void printAccuracy(String name, List<NluTrainingData.Example> examples, String[] predicted) {
+        Map<String, int[]> perIntent = new TreeMap<>();
+        int correct = 0;
+        for (int i = 0; i < examples.size(); i++) {
+            String intent = examples.get(i).intent();
+            int[] counts = perIntent.computeIfAbsent(intent, k -> new int[2]);
+            counts[1]++;
+            if (intent.equals(predicted[i])) {
+                counts[0]++;
+                correct++;
+            }
+        }
+
+        System.out.printf("%n[%s] 정확도: %.1f%% (%d/%d)%n", name, 100.0 * correct / examples.size(), correct, examples.size());
+        System.out.printf("%20s %10s %8s%n", "intent", "accuracy", "count");
+        perIntent.forEach((intent, counts) ->
+                System.out.printf("%20s %9.1f%% %8d%n", intent, 100.0 * counts[0] / counts[1], counts[1]));
+    }
+
+    private static void printLatency(String name, List<Long> latencies) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double mean = Arrays.stream(sorted).average().orElse(0);
+        System.out.printf("[%s] 지연 시간: 평균 %.1f us, p50 %.1f us, p99 %.1f us%n", name,
+                mean / 1000, percentile(sorted, 0.50) / 1000, percentile(sorted, 0.99) / 1000);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
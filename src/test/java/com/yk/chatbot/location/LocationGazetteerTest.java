@@ -0,0 +1,86 @@
+package com.yk.chatbot.location;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationGazetteerTest {
+
+    private final LocationGazetteer gazetteer = LocationGazetteer.builder()
+            .add("서울", 37.5665, 126.9780)
+            .add("광주", 35.1595, 126.8526)
+            .add("광주시", 37.4132, 127.2547)
+            .add("강남", 37.5172, 127.0473)
+            .add("성산일출봉", 33.4587, 126.9425)
+            .add("수원", 37.2636, 127.0286)
+            .addName("화성")
+            .addAlias("경기도", "수원")
+            .build();
+
+    @Test
+    void resolvesSuffixVariantsToBaseName() {
+        assertEquals("서울", gazetteer.resolve("서울특별시").orElseThrow().name());
+        assertEquals("강남", gazetteer.resolve("강남구").orElseThrow().name());
+        assertEquals("광주", gazetteer.resolve("광주광역시").orElseThrow().name());
+    }
+
+    @Test
+    void explicitNameWinsOverSuffixVariant() {
+        LocationGazetteer.Place place = gazetteer.resolve("광주시").orElseThrow();
+        assertEquals("광주시", place.name());
+        assertEquals(37.4132, place.latitude());
+    }
+
+    @Test
+    void expandsPartialNameAndAlias() {
+        assertEquals("성산일출봉", gazetteer.resolve("성산").orElseThrow().name());
+        assertEquals("수원", gazetteer.resolve("경기도").orElseThrow().name());
+    }
+
+    @Test
+    void namesWithoutCoordinatesAreRecognized() {
+        LocationGazetteer.Place place = gazetteer.resolve("화성시").orElseThrow();
+        assertEquals("화성", place.name());
+        assertFalse(place.hasCoordinates());
+    }
+
+    @Test
+    void scansMessageWithLongestMatch() {
+        List<LocationGazetteer.Match> matches = gazetteer.findAll("서울특별시랑 광주시 날씨 알려줘");
+
+        assertEquals(2, matches.size());
+        assertEquals("서울특별시", matches.get(0).surface());
+        assertEquals("서울", matches.get(0).place().name());
+        assertEquals("광주시", matches.get(1).place().name());
+    }
+
+    @Test
+    void findsNearestPlaceByCoordinates() {
+        // 송파구청 부근 좌표 -> 강남이 가장 가까움 (서울 시청보다 가까움)
+        LocationGazetteer.Nearby nearby = gazetteer.nearest(37.5145, 127.1060).orElseThrow();
+        assertEquals("강남", nearby.place().name());
+        assertTrue(nearby.distanceKm() > 4 && nearby.distanceKm() < 6);
+
+        assertEquals("성산일출봉", gazetteer.nearest(33.45, 126.90).orElseThrow().place().name());
+    }
+
+    @Test
+    void findsPlacesWithinRadiusOrderedByDistance() {
+        List<LocationGazetteer.Nearby> nearby = gazetteer.withinRadius(37.5665, 126.9780, 15);
+
+        assertEquals(List.of("서울", "강남"), nearby.stream().map(n -> n.place().name()).toList());
+        assertTrue(gazetteer.withinRadius(37.5665, 126.9780, 0.5).stream()
+                .allMatch(n -> n.place().name().equals("서울")));
+    }
+
+    @Test
+    void unknownTextHasNoMatch() {
+        assertTrue(gazetteer.findFirst("오늘 기분 어때").isEmpty());
+        assertTrue(gazetteer.resolve("뉴욕").isEmpty());
+        assertFalse(gazetteer.contains("서"));
+    }
+}
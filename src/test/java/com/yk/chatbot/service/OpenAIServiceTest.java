@@ -0,0 +1,237 @@
+package com.yk.chatbot.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.yk.chatbot.support.LogStore;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenAIServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    // 기본값은 마감 시간보다 훨씬 늦게 응답하는 OpenAI 흉내
+    private volatile HttpHandler handler = exchange -> {
+        await(release);
+        exchange.close();
+    };
+    private HttpServer server;
+    private LogStore store;
+    private OpenAIService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> handler.handle(exchange));
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        store = LogStore.open(dir, "test");
+        service = new OpenAIService(registry, new FallbackAnswerCache(registry, store));
+        ReflectionTestUtils.setField(service, "openAIApiKey", "test-key");
+        ReflectionTestUtils.setField(service, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "model", "gpt-4o-mini");
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxTokens", 10);
+        ReflectionTestUtils.setField(service, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(service, "readTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(service, "poolMaxIdle", 1);
+        ReflectionTestUtils.setField(service, "poolKeepAliveSeconds", 1L);
+        ReflectionTestUtils.setField(service, "dispatcherMaxRequests", 4);
+        ReflectionTestUtils.setField(service, "dispatcherMaxRequestsPerHost", 4);
+        ReflectionTestUtils.setField(service, "maxInFlight", 1);
+        ReflectionTestUtils.setField(service, "acquireTimeoutMs", 100L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        service.close();
+        server.stop(0);
+        store.close();
+    }
+
+    @Test
+    void expiredDeadlineReturnsSlot() throws Exception {
+        Optional<String> answer = service.generateResponseWithin("안녕", Duration.ofMillis(200))
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(answer.isEmpty());
+
+        // 호출이 취소되어 슬롯이 반환될 때까지 대기
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("openai.in-flight").gauge().value() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0.0, registry.get("openai.in-flight").gauge().value());
+        assertEquals(1.0, registry.get("openai.deadline.exceeded").counter().count());
+
+        // 슬롯이 하나뿐이어도 다음 호출이 거절되지 않음
+        service.generateResponseWithin("안녕", Duration.ofMillis(200)).get(5, TimeUnit.SECONDS);
+        assertEquals(0.0, registry.get("openai.gate.rejected").counter().count());
+    }
+
+    @Test
+    void fullGateRejectsAfterAcquireTimeout() throws Exception {
+        // 하나뿐인 슬롯을 응답하지 않는 호출이 차지
+        CompletableFuture<String> first = service.generateResponseAsync("안녕");
+
+        long start = System.nanoTime();
+        String second = service.generateResponseAsync("안녕").get(5, TimeUnit.SECONDS);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(ReflectionTestUtils.getField(OpenAIService.class, "ERROR_MESSAGE"), second);
+        assertTrue(waitedMs >= 100, "acquire-timeout-ms 동안 기다려야 함: " + waitedMs + "ms");
+        assertEquals(1.0, registry.get("openai.gate.rejected").counter().count());
+        Timer gateWait = registry.get("openai.gate.wait").timer();
+        assertEquals(2, gateWait.count());
+        assertTrue(gateWait.max(TimeUnit.MILLISECONDS) >= 100);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        awaitSlotReturned();
+    }
+
+    @Test
+    void errorResponseReturnsSlot() throws Exception {
+        handler = exchange -> {
+            byte[] body = "{\"error\":{\"message\":\"server error\",\"type\":\"server_error\"}}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(500, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        };
+
+        String answer = service.generateResponseAsync("안녕").get(5, TimeUnit.SECONDS);
+        assertEquals(ReflectionTestUtils.getField(OpenAIService.class, "ERROR_MESSAGE"), answer);
+        awaitSlotReturned();
+
+        // 슬롯이 반환되었으므로 다음 호출은 대기 없이 슬롯을 얻음
+        service.generateResponseAsync("안녕").get(5, TimeUnit.SECONDS);
+        awaitSlotReturned();
+        assertEquals(0.0, registry.get("openai.gate.rejected").counter().count());
+    }
+
+    @Test
+    void streamsTokensAsChunksArrive() throws Exception {
+        handler = exchange -> {
+            try (OutputStream body = startEvents(exchange)) {
+                sendChunk(body, "Hello");
+                sendChunk(body, ", world");
+                body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        List<String> tokens = new CopyOnWriteArrayList<>();
+
+        Optional<String> answer = service.streamResponseWithin("안녕", Duration.ofSeconds(2), tokens::add)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(Optional.of("Hello, world"), answer);
+        assertEquals(List.of("Hello", ", world"), tokens);
+        awaitSlotReturned();
+    }
+
+    @Test
+    void missedFirstTokenDeadlineDropsLateTokens() throws Exception {
+        handler = exchange -> {
+            try (OutputStream body = startEvents(exchange)) {
+                await(release);
+                sendChunk(body, "late");
+            }
+        };
+        List<String> tokens = new CopyOnWriteArrayList<>();
+
+        Optional<String> answer = service.streamResponseWithin("안녕", Duration.ofMillis(200), tokens::add)
+                .get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertTrue(answer.isEmpty());
+        awaitSlotReturned();
+        assertTrue(tokens.isEmpty());
+        assertEquals(1.0, registry.get("openai.deadline.exceeded").counter().count());
+    }
+
+    @Test
+    void cancellingStreamCancelsCall() throws Exception {
+        CountDownLatch firstToken = new CountDownLatch(1);
+        handler = exchange -> {
+            try (OutputStream body = startEvents(exchange)) {
+                sendChunk(body, "Hello");
+                await(release);
+                sendChunk(body, ", world");
+            }
+        };
+        List<String> tokens = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Optional<String>> answer = service.streamResponseWithin("안녕", Duration.ofSeconds(2), token -> {
+            tokens.add(token);
+            firstToken.countDown();
+        });
+        assertTrue(firstToken.await(5, TimeUnit.SECONDS));
+        answer.cancel(true);
+
+        // 서버가 다음 조각을 보내기 전에 호출이 취소되어 슬롯이 반환됨
+        awaitSlotReturned();
+        assertEquals(List.of("Hello"), tokens);
+    }
+
+    private void awaitSlotReturned() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("openai.in-flight").gauge().value() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0.0, registry.get("openai.in-flight").gauge().value());
+    }
+
+    private static OutputStream startEvents(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        return exchange.getResponseBody();
+    }
+
+    // 스트리밍 응답은 클라이언트 라이브러리가 플랫폼 기본 문자셋으로 읽으므로 ASCII 조각만 사용
+    private static void sendChunk(OutputStream body, String content) throws IOException {
+        String chunk = "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"created\":1,"
+                + "\"model\":\"gpt-4o-mini\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\""
+                + content + "\"},\"finish_reason\":null}]}";
+        body.write(("data: " + chunk + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
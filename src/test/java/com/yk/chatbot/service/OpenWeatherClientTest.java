@@ -0,0 +1,205 @@
+package com.yk.chatbot.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class OpenWeatherClientTest {
+
+    private final AtomicReference<URI> received = new AtomicReference<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // 요청 순번(1부터)을 받아 응답하는 날씨 API 흉내
+    private volatile Responder responder = (exchange, n) -> respond(exchange, 200, "[]");
+    private HttpServer server;
+    private OpenWeatherClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            received.set(exchange.getRequestURI());
+            responder.respond(exchange, requests.incrementAndGet());
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        client = new OpenWeatherClient(registry);
+        ReflectionTestUtils.setField(client, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(client, "readTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(client, "maxTotal", 2);
+        ReflectionTestUtils.setField(client, "hedgeEnabled", true);
+        ReflectionTestUtils.setField(client, "hedgePercentile", 0.95);
+        ReflectionTestUtils.setField(client, "hedgeDefaultDelayMs", 50L);
+        ReflectionTestUtils.setField(client, "hedgeMinDelayMs", 50L);
+        ReflectionTestUtils.setField(client, "hedgeMinSamples", 1000L);
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    void geocodeRequestEncodesLocation() throws Exception {
+        String geocodeUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/geo/1.0/direct";
+        URI url = WeatherService.geocodeUri(geocodeUrl, "서울 중구", "key&1");
+
+        client.get(url).get(5, TimeUnit.SECONDS);
+
+        assertEquals("q=%EC%84%9C%EC%9A%B8%20%EC%A4%91%EA%B5%AC%2CKR&limit=1&appid=key%261",
+                received.get().getRawQuery());
+        assertEquals("/geo/1.0/direct", received.get().getPath());
+    }
+
+    @Test
+    void hedgeWinsWhenPrimaryIsSlow() throws Exception {
+        responder = (exchange, n) -> {
+            if (n == 1) {
+                await(release);
+            }
+            respond(exchange, 200, n == 1 ? "primary" : "hedge");
+        };
+
+        byte[] body = client.getHedged(url(), () -> true).get(5, TimeUnit.SECONDS);
+
+        assertEquals("hedge", new String(body, StandardCharsets.UTF_8));
+        assertEquals(1.0, registry.get("weather.http.hedged").counter().count());
+        // 승리 집계는 결과를 완료한 직후 응답 스레드에서 기록
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("weather.http.hedge.wins").counter().count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, registry.get("weather.http.hedge.wins").counter().count());
+    }
+
+    @Test
+    void deniedPermitSendsNoHedge() throws Exception {
+        responder = (exchange, n) -> {
+            sleep(300);
+            respond(exchange, 200, "primary");
+        };
+
+        byte[] body = client.getHedged(url(), () -> false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("primary", new String(body, StandardCharsets.UTF_8));
+        assertEquals(1, requests.get());
+        assertEquals(0.0, registry.get("weather.http.hedged").counter().count());
+    }
+
+    @Test
+    void failsOnlyWhenBothAttemptsFail() {
+        responder = (exchange, n) -> {
+            if (n == 1) {
+                sleep(300);
+            }
+            respond(exchange, 500, "error");
+        };
+
+        CompletableFuture<byte[]> result = client.getHedged(url(), () -> true);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+        assertEquals(2, requests.get());
+        assertEquals(0.0, registry.get("weather.http.hedge.wins").counter().count());
+    }
+
+    @Test
+    void cancellingResultCancelsBothAttempts() throws Exception {
+        // 실제 클라이언트로 보내면서 각 요청의 Future를 기록
+        List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        CountDownLatch bothSent = new CountDownLatch(2);
+        CloseableHttpAsyncClient httpClient = spy((CloseableHttpAsyncClient) ReflectionTestUtils.getField(client, "httpClient"));
+        doAnswer(invocation -> {
+            Future<?> attempt = (Future<?>) invocation.callRealMethod();
+            attempts.add(attempt);
+            bothSent.countDown();
+            return attempt;
+        }).when(httpClient).execute(any(SimpleHttpRequest.class), any());
+        ReflectionTestUtils.setField(client, "httpClient", httpClient);
+        responder = (exchange, n) -> {
+            await(release);
+            respond(exchange, 200, "[]");
+        };
+
+        CompletableFuture<byte[]> result = client.getHedged(url(), () -> true);
+        assertTrue(bothSent.await(5, TimeUnit.SECONDS));
+        result.cancel(true);
+
+        // 헤지 요청의 취소 연결은 전송 직후 헤지 스레드에서 등록되므로 잠시 기다림
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!attempts.stream().allMatch(Future::isCancelled) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, attempts.size());
+        assertTrue(attempts.get(0).isCancelled());
+        assertTrue(attempts.get(1).isCancelled());
+        assertEquals(0.0, registry.get("weather.http.hedge.wins").counter().count());
+    }
+
+    private URI url() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/data/2.5/weather");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Responder {
+        void respond(HttpExchange exchange, int requestNumber) throws IOException;
+    }
+}
@@ -0,0 +1,61 @@
+package com.yk.chatbot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RasaClientServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decodesIntentAndEntities() throws IOException {
+        RasaParseResult result = decode("""
+                {"text": "서울 날씨",
+                 "intent": {"id": 1, "name": "weather", "confidence": 0.93},
+                 "entities": [{"entity": "location", "start": 0, "value": "서울", "extractor": "DIETClassifier"}],
+                 "intent_ranking": [{"name": "weather", "confidence": 0.93}]}
+                """);
+
+        assertEquals("weather", result.intent());
+        assertEquals(0.93, result.confidence());
+        assertEquals(List.of(new RasaParseResult.Entity("location", "서울")), result.entities());
+    }
+
+    @Test
+    void keepsFieldsAfterEntitiesWithNonObjectElements() throws IOException {
+        // 객체가 아닌 원소가 있어도 배열 뒤의 intent를 읽어야 함
+        RasaParseResult result = decode("""
+                {"entities": [null, {"entity": "location", "value": "부산"}, ["x"], 3,
+                              {"entity": "location", "value": {"nested": true}}],
+                 "intent": {"name": "temperature", "confidence": 0.8}}
+                """);
+
+        assertEquals("temperature", result.intent());
+        assertEquals(0.8, result.confidence());
+        assertEquals(List.of(new RasaParseResult.Entity("location", "부산")), result.entities());
+    }
+
+    @Test
+    void missingIntentIsUnknown() throws IOException {
+        RasaParseResult result = decode("{\"text\": \"...\", \"entities\": []}");
+
+        assertEquals("unknown", result.intent());
+        assertEquals(0.0, result.confidence());
+        assertEquals(List.of(), result.entities());
+    }
+
+    @Test
+    void rejectsNonObjectResponse() {
+        assertThrows(IOException.class, () -> decode("[]"));
+    }
+
+    private RasaParseResult decode(String json) throws IOException {
+        return RasaClientService.decode(objectMapper.getFactory().createParser(json));
+    }
+}
@@ -0,0 +1,44 @@
+package com.yk.chatbot.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellationRelayTest {
+
+    private final CancellationRelay relay = new CancellationRelay();
+
+    @Test
+    void cancellingOuterCancelsTrackedStage() {
+        CompletableFuture<String> stage = relay.track(new CompletableFuture<>());
+        CompletableFuture<String> outer = relay.cancelWith(stage.thenApply(String::trim));
+
+        outer.cancel(true);
+
+        assertTrue(stage.isCancelled());
+        assertTrue(relay.isCancelled());
+    }
+
+    @Test
+    void stageTrackedAfterCancelIsCancelledImmediately() {
+        relay.cancel();
+
+        CompletableFuture<String> stage = relay.track(new CompletableFuture<>());
+
+        assertTrue(stage.isCancelled());
+    }
+
+    @Test
+    void normalCompletionLeavesStagesAlone() {
+        CompletableFuture<String> stage = relay.track(new CompletableFuture<>());
+        CompletableFuture<String> outer = relay.cancelWith(new CompletableFuture<>());
+
+        outer.complete("done");
+
+        assertFalse(stage.isDone());
+        assertFalse(relay.isCancelled());
+    }
+}
@@ -0,0 +1,35 @@
+package com.yk.chatbot.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimatesNeverUndercountAndRankHotKeysFirst() {
+        CountMinSketch sketch = new CountMinSketch(100, Long.MAX_VALUE);
+        for (int i = 0; i < 50; i++) {
+            sketch.increment("서울");
+        }
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("부산");
+        }
+
+        assertTrue(sketch.estimate("서울") >= 50);
+        assertTrue(sketch.estimate("부산") >= 5);
+        assertTrue(sketch.estimate("서울") > sketch.estimate("부산"));
+        assertEquals(0, sketch.estimate("독도"));
+    }
+
+    @Test
+    void halvesCountersAfterSampleSize() {
+        CountMinSketch sketch = new CountMinSketch(16, 40);
+        for (int i = 0; i < 40; i++) {
+            sketch.increment("제주");
+        }
+
+        assertEquals(20, sketch.estimate("제주"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.yk.chatbot.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void valuesSurviveReopen() throws IOException {
+        try (LogStore store = LogStore.open(dir, "test")) {
+            store.put("서울", bytes("37.5665,126.9780"));
+            store.put("부산", bytes("35.1796,129.0756"));
+            store.put("서울", bytes("37.0,127.0"));
+            store.remove("부산");
+        }
+
+        try (LogStore store = LogStore.open(dir, "test")) {
+            assertEquals("37.0,127.0", string(store.get("서울").orElseThrow()));
+            assertFalse(store.get("부산").isPresent());
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void growsIndexAndCompactsDeadRecords() throws IOException {
+        try (LogStore store = LogStore.open(dir, "test")) {
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 2000; i++) {
+                    store.put("key" + i, bytes("value" + i + "-" + round));
+                }
+            }
+            long before = store.logBytes();
+
+            assertTrue(store.compactIfNeeded(0.5, 0));
+            assertTrue(store.logBytes() < before / 2);
+            assertEquals(2000, store.size());
+            assertEquals("value1234-2", string(store.get("key1234").orElseThrow()));
+
+            Map<String, String> all = new HashMap<>();
+            store.forEach((key, value) -> all.put(key, string(value)));
+            assertEquals(2000, all.size());
+        }
+
+        try (LogStore store = LogStore.open(dir, "test")) {
+            assertEquals("value7-2", string(store.get("key7").orElseThrow()));
+        }
+    }
+
+    @Test
+    void removedKeysDoNotFillIndex() throws IOException {
+        // 최소 색인 용량(1024)보다 많은 키를 넣었다 지워도 삭제 표시 슬롯이 색인을 채우지 않음
+        try (LogStore store = LogStore.open(dir, "test")) {
+            for (int i = 0; i < 5000; i++) {
+                store.put("key" + i, bytes("value" + i));
+                store.remove("key" + i);
+            }
+            store.put("last", bytes("value"));
+
+            assertEquals(1, store.size());
+            assertFalse(store.get("key4999").isPresent());
+            assertEquals("value", string(store.get("last").orElseThrow()));
+        }
+
+        try (LogStore store = LogStore.open(dir, "test")) {
+            assertEquals(1, store.size());
+            assertFalse(store.get("key0").isPresent());
+            assertTrue(Files.size(dir.resolve("test.idx")) < 1024 * 16 * 4);
+        }
+    }
+
+    @Test
+    void recoversFromMissingIndexAndTornTail() throws IOException {
+        try (LogStore store = LogStore.open(dir, "test")) {
+            store.put("a", bytes("1"));
+            store.put("b", bytes("2"));
+        }
+        Files.delete(dir.resolve("test.idx"));
+        // 기록 도중 중단된 레코드 흉내
+        try (FileChannel log = FileChannel.open(dir.resolve("test.log"), StandardOpenOption.APPEND)) {
+            log.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 5, 0}));
+        }
+
+        try (LogStore store = LogStore.open(dir, "test")) {
+            assertEquals("1", string(store.get("a").orElseThrow()));
+            assertEquals("2", string(store.get("b").orElseThrow()));
+            store.put("c", bytes("3"));
+            assertEquals("3", string(store.get("c").orElseThrow()));
+        }
+    }
+
+    @Test
+    void missingStoreCreatesNoFilesUntilWritten() throws IOException {
+        try (LogStore store = LogStore.open(dir.resolve("sub"), "test")) {
+            assertFalse(store.get("a").isPresent());
+        }
+        assertFalse(Files.exists(dir.resolve("sub")));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
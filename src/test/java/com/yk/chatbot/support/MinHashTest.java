@@ -0,0 +1,47 @@
+package com.yk.chatbot.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashTest {
+
+    private final MinHash minHash = new MinHash(16, 4);
+
+    @Test
+    void nearDuplicatesShareBucketAndScoreHigh() {
+        // 조사 하나만 다른 질문
+        int[] a = MinHash.shingles("인공지능이뭔지설명해줘", 2);
+        int[] b = MinHash.shingles("인공지능은뭔지설명해줘", 2);
+
+        assertTrue(MinHash.jaccard(a, b) >= 0.6);
+        assertTrue(sharesBand(minHash.bandKeys(minHash.signature(a)), minHash.bandKeys(minHash.signature(b))));
+    }
+
+    @Test
+    void unrelatedTextScoresLow() {
+        int[] a = MinHash.shingles("인공지능이뭔지설명해줘", 2);
+        int[] b = MinHash.shingles("맛있는파스타레시피알려줘", 2);
+
+        assertTrue(MinHash.jaccard(a, b) < 0.2);
+    }
+
+    @Test
+    void identicalTextHasSameSignature() {
+        int[] a = MinHash.shingles("오늘뭐하지", 2);
+
+        assertEquals(1.0, MinHash.jaccard(a, a));
+        assertArrayEquals(minHash.signature(a), minHash.signature(MinHash.shingles("오늘뭐하지", 2)));
+    }
+
+    private static boolean sharesBand(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.yk.chatbot.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PerfectHashTableTest {
+
+    @Test
+    void findsEveryKeyAndRejectsUnknownKeys() {
+        Map<String, Integer> entries = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            entries.put("예문" + i, i);
+        }
+
+        PerfectHashTable<Integer> table = PerfectHashTable.build(entries);
+
+        assertEquals(5000, table.size());
+        entries.forEach((key, value) -> assertEquals(value, table.get(key)));
+        for (int i = 5000; i < 6000; i++) {
+            assertNull(table.get("예문" + i));
+        }
+    }
+
+    @Test
+    void handlesEmptyAndSingleEntryTables() {
+        PerfectHashTable<String> empty = PerfectHashTable.build(Map.of());
+        assertEquals(0, empty.size());
+        assertNull(empty.get("안녕"));
+
+        PerfectHashTable<String> single = PerfectHashTable.build(Map.of("안녕", "greeting"));
+        assertEquals("greeting", single.get("안녕"));
+        assertNull(single.get("잘가"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.yk.chatbot.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsBurstThenRejects() {
+        // 분당 1회라 테스트 중에는 토큰이 다시 차지 않음
+        TokenBucket bucket = new TokenBucket(1, 3);
+
+        assertEquals(3, bucket.available());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(0, bucket.available());
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        // 분당 6000회 = 10ms마다 토큰 1개
+        TokenBucket bucket = new TokenBucket(6000, 1);
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        Thread.sleep(30);
+        assertTrue(bucket.tryAcquire());
+    }
+}